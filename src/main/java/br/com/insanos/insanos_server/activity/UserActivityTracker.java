@@ -0,0 +1,197 @@
+package br.com.insanos.insanos_server.activity;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind de {@code User.lastLoginAt} e {@code User.lastSeenAt}.
+ *
+ * Login e requisições autenticadas só atualizam um mapa em memória (o maior timestamp por usuário
+ * vence); a cada {@code insanos.activity.flush-interval} o mapa é gravado com um UPDATE em lote por
+ * usuário ativo no intervalo, direto via JDBC (sem carregar a entidade nem disparar @PreUpdate).
+ * O mapa também é gravado ao encerrar a aplicação e antes, se passar de {@code insanos.activity.max-pending}.
+ *
+ * Janela de perda: numa queda do processo perde-se no máximo um intervalo de flush de atividade.
+ * O UPDATE nunca volta um timestamp para trás, então nós diferentes podem gravar em qualquer ordem.
+ */
+@Component
+public class UserActivityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserActivityTracker.class);
+
+    // Parâmetro nulo de login (só atividade) mantém a coluna como está
+    static final String UPDATE_ACTIVITY = """
+            update users set
+                last_login_at = case when last_login_at is null or last_login_at < ? then ? else last_login_at end,
+                last_seen_at = case when last_seen_at is null or last_seen_at < ? then ? else last_seen_at end
+            where username = ?""";
+
+    // Epoch millis; 0 = sem login no intervalo
+    private record Activity(long lastLoginMillis, long lastSeenMillis) {
+
+        Activity merge(Activity other) {
+            return new Activity(Math.max(lastLoginMillis, other.lastLoginMillis),
+                Math.max(lastSeenMillis, other.lastSeenMillis));
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.activity.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${insanos.activity.flush-interval:PT30S}")
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    @Value("${insanos.activity.max-pending:100000}")
+    private int maxPending = 100_000;
+
+    @Value("${insanos.activity.batch-size:500}")
+    private int batchSize = 500;
+
+    private final Map<String, Activity> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final LongAdder flushed = new LongAdder();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            logger.info("🕒 Rastreamento de último login/atividade desativado");
+            return;
+        }
+
+        Gauge.builder("user.activity.pending", pending, Map::size)
+                .description("Usuários com atividade ainda não gravada no banco")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.activity.flushed", flushed, LongAdder::sum)
+                .description("Usuários com atividade gravada no banco")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-activity-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(flushInterval.toMillis(), 1);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("🕒 Rastreamento de último login/atividade ativo - Flush a cada {}", flushInterval);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    public void recordLogin(String username) {
+        long now = System.currentTimeMillis();
+        record(username, new Activity(now, now));
+    }
+
+    public void recordSeen(String username) {
+        record(username, new Activity(0, System.currentTimeMillis()));
+    }
+
+    /**
+     * Grava tudo o que está pendente; retorna quantos usuários foram atualizados.
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<String, Activity>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Activity> entry : pending.entrySet()) {
+            // Se o usuário teve atividade nova desde a leitura, a entrada fica para a próxima passada
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_ACTIVITY, batch, batchSize, (ps, entry) -> {
+                Activity activity = entry.getValue();
+                Timestamp lastLogin = activity.lastLoginMillis() > 0 ? new Timestamp(activity.lastLoginMillis()) : null;
+                Timestamp lastSeen = new Timestamp(activity.lastSeenMillis());
+                ps.setTimestamp(1, lastLogin);
+                ps.setTimestamp(2, lastLogin);
+                ps.setTimestamp(3, lastSeen);
+                ps.setTimestamp(4, lastSeen);
+                ps.setString(5, entry.getKey());
+            });
+        } catch (RuntimeException e) {
+            // Devolve ao mapa para a próxima passada, sem perder atividade mais nova que chegou no meio
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Activity::merge));
+            throw e;
+        }
+
+        flushed.add(batch.size());
+        logger.debug("Atividade de {} usuários gravada", batch.size());
+        return batch.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void record(String username, Activity activity) {
+        if (!enabled || username == null) {
+            return;
+        }
+        pending.merge(username, activity, Activity::merge);
+        if (pending.size() >= maxPending && flusher != null && earlyFlushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    earlyFlushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // Encerrando: o flush final do stop() grava o que sobrou
+                earlyFlushScheduled.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("❌ Erro ao gravar último login/atividade ({} pendentes): {}", pending.size(), e.getMessage());
+        }
+    }
+}
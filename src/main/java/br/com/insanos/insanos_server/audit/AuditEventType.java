@@ -0,0 +1,40 @@
+package br.com.insanos.insanos_server.audit;
+
+/**
+ * Tipos de evento de auditoria. O código é o byte gravado nos segmentos: não reutilizar nem
+ * renumerar códigos de tipos existentes.
+ */
+public enum AuditEventType {
+
+    LOGIN_SUCCESS(1),
+    LOGIN_FAILURE(2),
+    REGISTRATION(3),
+    TOKEN_REJECTED(4),
+    API_KEY_REJECTED(5);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[6];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static AuditEventType fromCode(byte code) {
+        AuditEventType type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Tipo de evento de auditoria desconhecido: " + code);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.insanos.insanos_server.audit;
+
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trilha de auditoria de autenticação (login, falha de login, registro, token recusado).
+ *
+ * A thread da requisição só coloca o evento no {@link AuditRingBuffer} (sem lock, sem alocação,
+ * sem I/O); a thread "audit-writer" grava em segmentos mapeados em memória e faz fsync a cada
+ * {@code insanos.audit.fsync-interval}. Numa queda do processo os eventos já gravados no mapeamento
+ * sobrevivem (page cache); numa queda da máquina perde-se no máximo o intervalo de fsync mais o que
+ * estava na fila. Com a fila cheia eventos são descartados e contados em audit.events{outcome=dropped}.
+ *
+ * Para ler: {@link AuditSegmentReader}.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int DRAIN_BATCH = 4096;
+
+    private final RateLimitedLogger failureLogger = new RateLimitedLogger(logger, 10, Duration.ofMinutes(1));
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.audit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${insanos.audit.directory:logs/audit}")
+    private String directory = "logs/audit";
+
+    @Value("${insanos.audit.segment-size:16MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    @Value("${insanos.audit.max-segments:64}")
+    private int maxSegments = 64;
+
+    // Potência de 2
+    @Value("${insanos.audit.buffer-size:65536}")
+    private int bufferSize = 65536;
+
+    @Value("${insanos.audit.fsync-interval:PT1S}")
+    private Duration fsyncInterval = Duration.ofSeconds(1);
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private AuditRingBuffer ring;
+    private AuditSegmentWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            logger.info("📜 Auditoria de autenticação desativada");
+            return;
+        }
+
+        ring = new AuditRingBuffer(bufferSize);
+        writer = new AuditSegmentWriter(Path.of(directory), (int) segmentSize.toBytes(), maxSegments);
+
+        FunctionCounter.builder("audit.events", written, LongAdder::sum)
+                .description("Eventos de auditoria gravados")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events", ring, AuditRingBuffer::getDropped)
+                .description("Eventos de auditoria descartados com a fila cheia")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events", failed, LongAdder::sum)
+                .description("Eventos de auditoria perdidos por erro de escrita")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        logger.info("📜 Auditoria de autenticação ativa - Segmento atual: {}, Fila: {}",
+            writer.currentSegment(), bufferSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+
+    /**
+     * Enfileira um evento; nunca bloqueia nem lança exceção.
+     */
+    public void record(AuditEventType type, String username, String clientIp, String detail) {
+        AuditRingBuffer ring = this.ring;
+        if (ring != null) {
+            ring.offer(type, System.currentTimeMillis(), username, clientIp, detail);
+        }
+    }
+
+    /**
+     * Grava tudo o que está na fila e faz fsync. Usado no shutdown e pelos testes.
+     */
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        synchronized (writer) {
+            while (ring.drain(this::write, DRAIN_BATCH) > 0) {
+                // continua até esvaziar
+            }
+            force();
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return ring != null ? ring.getDropped() : 0;
+    }
+
+    private void writeLoop() {
+        long fsyncNanos = fsyncInterval.toNanos();
+        long lastForce = System.nanoTime();
+
+        while (running) {
+            int drained;
+            synchronized (writer) {
+                drained = ring.drain(this::write, DRAIN_BATCH);
+                long now = System.nanoTime();
+                if (now - lastForce >= fsyncNanos) {
+                    force();
+                    lastForce = now;
+                }
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void force() {
+        try {
+            writer.force();
+        } catch (RuntimeException e) {
+            failureLogger.error("❌ Falha no fsync da auditoria: {}", e.getMessage());
+        }
+    }
+
+    private void write(AuditEventType type, long timestampMillis, String username, String clientIp, String detail) {
+        try {
+            writer.append(type, timestampMillis, username, clientIp, detail);
+            written.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            failureLogger.error("❌ Falha ao gravar evento de auditoria {}: {}", type, e.getMessage());
+        }
+    }
+}
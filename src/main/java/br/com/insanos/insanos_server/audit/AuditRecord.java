@@ -0,0 +1,46 @@
+package br.com.insanos.insanos_server.audit;
+
+import java.time.Instant;
+
+/**
+ * Evento de auditoria decodificado de um segmento.
+ */
+public record AuditRecord(Instant timestamp, AuditEventType type, String username, String clientIp, String detail) {
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"timestamp\":\"").append(timestamp).append('"');
+        json.append(",\"type\":\"").append(type).append('"');
+        appendField(json, "username", username);
+        appendField(json, "clientIp", clientIp);
+        appendField(json, "detail", detail);
+        return json.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
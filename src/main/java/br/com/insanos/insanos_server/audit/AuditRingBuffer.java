@@ -0,0 +1,116 @@
+package br.com.insanos.insanos_server.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores (threads de requisição) e um único
+ * consumidor (thread de escrita do {@link AuditLog}).
+ *
+ * Cada slot tem um número de sequência (algoritmo de Vyukov): o produtor reserva a posição com um
+ * CAS no cursor, preenche os campos e publica gravando a sequência com semântica release; o
+ * consumidor só lê o slot depois de ver a sequência esperada. Os campos ficam em arrays paralelos,
+ * então o {@link #offer} não aloca nada. Com a fila cheia o evento é descartado e contado: a
+ * requisição nunca espera pelo disco.
+ */
+class AuditRingBuffer {
+
+    @FunctionalInterface
+    interface Handler {
+
+        void accept(AuditEventType type, long timestampMillis, String username, String clientIp, String detail);
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AuditEventType[] types;
+    private final long[] timestamps;
+    private final String[] usernames;
+    private final String[] clientIps;
+    private final String[] details;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    // Só o consumidor escreve
+    private long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.types = new AuditEventType[capacity];
+        this.timestamps = new long[capacity];
+        this.usernames = new String[capacity];
+        this.clientIps = new String[capacity];
+        this.details = new String[capacity];
+    }
+
+    boolean offer(AuditEventType type, long timestampMillis, String username, String clientIp, String detail) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    types[index] = type;
+                    timestamps[index] = timestampMillis;
+                    usernames[index] = username;
+                    clientIps[index] = clientIp;
+                    details[index] = detail;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // O slot ainda guarda um evento de uma volta anterior: fila cheia
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Entrega até {@code max} eventos publicados, em ordem; retorna quantos foram entregues.
+     * Deve ser chamado sempre pela mesma thread.
+     */
+    int drain(Handler handler, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            AuditEventType type = types[index];
+            long timestamp = timestamps[index];
+            String username = usernames[index];
+            String clientIp = clientIps[index];
+            String detail = details[index];
+            usernames[index] = null;
+            clientIps[index] = null;
+            details[index] = null;
+            sequences.setRelease(index, head + mask + 1);
+            head++;
+            drained++;
+
+            handler.accept(type, timestamp, username, clientIp, detail);
+        }
+        return drained;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
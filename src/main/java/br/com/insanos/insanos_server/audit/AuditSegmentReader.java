@@ -0,0 +1,93 @@
+package br.com.insanos.insanos_server.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodifica segmentos de auditoria (ver {@link AuditSegmentWriter}) e imprime um JSON por linha.
+ *
+ * <pre>
+ * java -cp target/classes br.com.insanos.insanos_server.audit.AuditSegmentReader logs/audit
+ * java -cp target/classes br.com.insanos.insanos_server.audit.AuditSegmentReader logs/audit/audit-0000000003.seg
+ * </pre>
+ */
+public class AuditSegmentReader {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Uso: AuditSegmentReader <diretório ou arquivo .seg>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            print(read(Path.of(arg)), System.out);
+        }
+    }
+
+    /**
+     * Lê um segmento, ou todos os segmentos de um diretório em ordem de criação.
+     */
+    public static List<AuditRecord> read(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return readSegment(path);
+        }
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : AuditSegmentWriter.listSegments(path)) {
+            records.addAll(readSegment(segment));
+        }
+        return records;
+    }
+
+    public static void print(List<AuditRecord> records, PrintStream out) {
+        for (AuditRecord record : records) {
+            out.println(record.toJson());
+        }
+    }
+
+    static List<AuditRecord> readSegment(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        if (buffer.remaining() < AuditSegmentWriter.HEADER_SIZE || buffer.getInt() != AuditSegmentWriter.MAGIC) {
+            throw new IOException("Não é um segmento de auditoria: " + segment);
+        }
+        short version = buffer.getShort();
+        if (version != AuditSegmentWriter.VERSION) {
+            throw new IOException("Versão de segmento não suportada (" + version + "): " + segment);
+        }
+        buffer.getShort();
+
+        List<AuditRecord> records = new ArrayList<>();
+        while (buffer.remaining() >= 2) {
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length == 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            try {
+                AuditEventType type = AuditEventType.fromCode(record.get());
+                Instant timestamp = Instant.ofEpochMilli(record.getLong());
+                records.add(new AuditRecord(timestamp, type, getString(record), getString(record), getString(record)));
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Registro corrompido em " + segment + ": " + e.getMessage(), e);
+            }
+        }
+        return records;
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = Byte.toUnsignedInt(record.get());
+        if (length == 0) {
+            return null;
+        }
+        String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.insanos.insanos_server.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Grava eventos em segmentos mapeados em memória ({@code audit-NNNNNNNNNN.seg}), abrindo um novo
+ * quando o atual enche e mantendo no máximo {@code maxSegments} arquivos.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabeçalho: int magic "AUD1" | short versão | short reservado
+ * registro:  u16 tamanho | u8 tipo | i64 epoch millis | username, clientIp, detail (u8 tamanho + UTF-8, 0 = nulo)
+ * </pre>
+ * O arquivo nasce zerado, então tamanho 0 marca o fim dos dados. O tamanho é gravado depois do
+ * conteúdo: se o processo morrer no meio de um registro, o leitor para no anterior. Só uma thread
+ * pode usar o writer.
+ */
+class AuditSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x41554431;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int MAX_STRING_BYTES = 255;
+    static final int MAX_RECORD_SIZE = 2 + 1 + 8 + 3 * (1 + MAX_STRING_BYTES);
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_RECORD_SIZE);
+
+    private long segmentIndex;
+    private MappedByteBuffer mapped;
+    private boolean dirty;
+
+    AuditSegmentWriter(Path directory, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < HEADER_SIZE + MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Segmento muito pequeno: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(maxSegments, 1);
+
+        Files.createDirectories(directory);
+        List<Path> existing = listSegments(directory);
+        // Segmentos antigos não são reabertos: cada start começa um arquivo novo
+        segmentIndex = existing.isEmpty() ? 0 : indexOf(existing.get(existing.size() - 1));
+        openNext();
+    }
+
+    void append(AuditEventType type, long timestampMillis, String username, String clientIp, String detail)
+            throws IOException {
+        scratch.clear();
+        scratch.position(2);
+        scratch.put(type.getCode());
+        scratch.putLong(timestampMillis);
+        putString(username);
+        putString(clientIp);
+        putString(detail);
+        int length = scratch.position() - 2;
+
+        if (mapped.remaining() < length + 2) {
+            rotate();
+        }
+
+        int start = mapped.position();
+        mapped.put(start + 2, scratch, 2, length);
+        mapped.putShort(start, (short) length);
+        mapped.position(start + 2 + length);
+        dirty = true;
+    }
+
+    // fsync das páginas alteradas desde o último force
+    void force() {
+        if (dirty) {
+            mapped.force();
+            dirty = false;
+        }
+    }
+
+    Path currentSegment() {
+        return directory.resolve(segmentName(segmentIndex));
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegmentWriter::isSegment).sorted().toList();
+        }
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private void putString(String value) {
+        if (value == null || value.isEmpty()) {
+            scratch.put((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        // Não corta um caractere UTF-8 ao meio
+        while (length < bytes.length && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        scratch.put((byte) length);
+        scratch.put(bytes, 0, length);
+    }
+
+    private void rotate() throws IOException {
+        force();
+        openNext();
+        deleteOldSegments();
+    }
+
+    private void openNext() throws IOException {
+        segmentIndex++;
+        // O mapeamento continua válido depois de fechar o canal; é liberado pelo GC
+        try (FileChannel channel = FileChannel.open(currentSegment(),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        mapped.putInt(MAGIC);
+        mapped.putShort(VERSION);
+        mapped.putShort((short) 0);
+        dirty = true;
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private static String segmentName(long index) {
+        return String.format("%s%010d%s", PREFIX, index, SUFFIX);
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.insanos.insanos_server.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transporte das invalidações de cluster, escolhido por {@code insanos.cluster.transport}.
+ * O padrão {@code loopback} fica em memória; um broker real (Redis pub/sub, Kafka, NATS...) entra
+ * com outro valor da propriedade e um bean {@link ClusterTransport} condicionado a ele.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "insanos.cluster.transport", havingValue = "loopback", matchIfMissing = true)
+    public ClusterTransport clusterTransport() {
+        return new LoopbackClusterTransport();
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.insanos.insanos_server.cluster;
+
+/**
+ * Mensagem trafegada entre instâncias. {@code subject} é o username nos eventos de usuário e o
+ * prefixo da chave em {@link Type#API_KEY_REVOKED}. {@code originNodeId} permite ignorar o eco do
+ * próprio nó em transportes que entregam a mensagem também ao publicador (pub/sub).
+ */
+public record ClusterEvent(Type type, String subject, String originNodeId) {
+
+    public enum Type {
+        // Dados do usuário mudaram (roles, enabled, remoção, registro)
+        USER_CHANGED,
+        // tokenVersion incrementada: tokens emitidos antes deixam de valer
+        TOKEN_REVOKED,
+        // Chave de API revogada: sai do ApiKeyIndex de cada nó
+        API_KEY_REVOKED
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.insanos.insanos_server.cluster;
+
+import br.com.insanos.insanos_server.datasource.ReadAfterWriteGuard;
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invalidação do {@link PrincipalCache} entre instâncias.
+ *
+ * Alterações feitas neste nó removem a entrada local na hora e são publicadas no
+ * {@link ClusterTransport}. Eventos recebidos de outros nós entram num conjunto pendente que é
+ * drenado a cada {@code insanos.cluster.coalesce-window}: rajadas (importação, alteração em massa,
+ * vários eventos do mesmo usuário) viram uma única passada de eviction. Se o pendente passar de
+ * {@code insanos.cluster.max-pending}, o cache inteiro é limpo.
+ *
+ * Revogações de chaves de API seguem o mesmo caminho, mas o {@link ApiKeyIndex} de cada nó é
+ * atualizado assim que o evento chega: são raras e não compensa agrupar.
+ */
+@Component
+public class ClusterInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationBus.class);
+
+    @Autowired
+    private ClusterTransport transport;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ApiKeyIndex apiKeyIndex;
+
+    @Autowired
+    private ReadAfterWriteGuard readAfterWriteGuard;
+
+    @Value("${insanos.cluster.coalesce-window:PT0.05S}")
+    private Duration coalesceWindow = Duration.ofMillis(50);
+
+    @Value("${insanos.cluster.max-pending:10000}")
+    private int maxPending = 10_000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean clearAll;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    private ScheduledExecutorService drainer;
+
+    @PostConstruct
+    void start() {
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMicros = Math.max(coalesceWindow.toNanos() / 1000, 1);
+        drainer.scheduleWithFixedDelay(this::drain, windowMicros, windowMicros, TimeUnit.MICROSECONDS);
+        transport.subscribe(this::onEvent);
+        logger.info("🌐 Invalidação de cluster ativa - Nó: {}, Transporte: {}", nodeId, transport.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    void stop() {
+        transport.close();
+        drainer.shutdownNow();
+    }
+
+    public void userChanged(String username) {
+        publish(ClusterEvent.Type.USER_CHANGED, username);
+    }
+
+    public void tokenRevoked(String username) {
+        publish(ClusterEvent.Type.TOKEN_REVOKED, username);
+    }
+
+    public void apiKeyRevoked(String prefix) {
+        apiKeyIndex.evict(prefix);
+        send(new ClusterEvent(ClusterEvent.Type.API_KEY_REVOKED, prefix, nodeId));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    private void publish(ClusterEvent.Type type, String username) {
+        // A próxima carga deste usuário não pode vir de uma réplica atrasada e voltar ao cache
+        readAfterWriteGuard.markWritten(username);
+        principalCache.evict(username);
+        send(new ClusterEvent(type, username, nodeId));
+    }
+
+    private void send(ClusterEvent event) {
+        try {
+            transport.publish(event);
+        } catch (RuntimeException e) {
+            // Os outros nós ficam com a entrada até o TTL do cache
+            logger.error("❌ Falha ao publicar invalidação {} de {}: {}", event.type(), event.subject(), e.getMessage());
+        }
+    }
+
+    void onEvent(ClusterEvent event) {
+        if (nodeId.equals(event.originNodeId())) {
+            return;
+        }
+        received.increment();
+        if (event.type() == ClusterEvent.Type.API_KEY_REVOKED) {
+            apiKeyIndex.evict(event.subject());
+            return;
+        }
+        readAfterWriteGuard.markWritten(event.subject());
+        if (pending.size() >= maxPending) {
+            clearAll = true;
+        } else {
+            pending.add(event.subject());
+        }
+    }
+
+    // Aplica os eventos recebidos desde a última passada; também usado pelos testes
+    void drain() {
+        try {
+            if (clearAll) {
+                clearAll = false;
+                pending.clear();
+                principalCache.clear();
+                logger.warn("⚠️ Muitas invalidações pendentes - cache de principals limpo");
+                return;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<String> batch = new ArrayList<>(pending.size());
+            for (String username : pending) {
+                if (pending.remove(username)) {
+                    batch.add(username);
+                }
+            }
+            principalCache.evictAll(batch);
+            evicted.add(batch.size());
+            logger.debug("Invalidação de cluster aplicada - {} usuários", batch.size());
+        } catch (RuntimeException e) {
+            logger.error("❌ Erro ao aplicar invalidações de cluster: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.insanos.insanos_server.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Transporte das mensagens de invalidação entre instâncias.
+ *
+ * Implementações de produção (Redis pub/sub, JMS, Kafka, multicast...) só precisam entregar cada
+ * evento publicado aos listeners dos outros nós, sem garantia de ordem; a invalidação é
+ * idempotente. Basta declarar um bean {@code ClusterTransport} para substituir o loopback.
+ */
+public interface ClusterTransport {
+
+    void publish(ClusterEvent event);
+
+    void subscribe(Consumer<ClusterEvent> listener);
+
+    void close();
+}
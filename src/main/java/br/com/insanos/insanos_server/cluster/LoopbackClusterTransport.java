@@ -0,0 +1,47 @@
+package br.com.insanos.insanos_server.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte em memória: os transportes que usam o mesmo hub recebem os eventos uns dos outros.
+ * Cada instância criada sem hub tem o seu próprio, então contextos Spring da mesma JVM não se
+ * enxergam; testes de cluster que simulam vários nós passam explicitamente o mesmo {@link Hub}.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+
+    private final Hub hub;
+    private final List<Consumer<ClusterEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public LoopbackClusterTransport() {
+        this(new Hub());
+    }
+
+    public LoopbackClusterTransport(Hub hub) {
+        this.hub = hub;
+        hub.transports.add(this);
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        for (LoopbackClusterTransport transport : hub.transports) {
+            transport.listeners.forEach(listener -> listener.accept(event));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        hub.transports.remove(this);
+        listeners.clear();
+    }
+
+    public static class Hub {
+        private final List<LoopbackClusterTransport> transports = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência adaptativo no estilo gradiente (Gradient2 do concurrency-limits da Netflix).
+ *
+ * Compara a latência de cada requisição com uma média móvel longa: enquanto a latência recente
+ * fica até {@code tolerance} vezes a média, o limite cresce ~sqrt(limite) suavizado; quando a
+ * latência sobe (banco lento, fila crescendo), o gradiente cai até 0.5 e o limite encolhe.
+ * Amostras com poucas requisições em voo (menos da metade do limite) não mudam o limite: a
+ * aplicação não estava saturada e a latência não diz nada sobre a capacidade.
+ */
+public class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longRttAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    // Protegidos pelo lock do objeto
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longRttAlpha = 2.0 / (longWindow + 1);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Reserva uma vaga; retorna o número de requisições em voo incluindo esta, ou -1 se o limite
+     * foi atingido.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    // Libera a vaga sem amostra (rejeição rápida, que não mede a capacidade)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightAtStart);
+    }
+
+    /**
+     * Libera a vaga de uma resposta que pode ter sido recusada antes de qualquer trabalho (401/400).
+     * Só vira amostra se levou pelo menos a média longa: uma recusa rápida puxaria a média para
+     * baixo, mas uma recusa lenta (carga do usuário que estourou o tempo) é sinal de banco lento.
+     */
+    public void releaseIfSlow(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (longRttNanos > 0 && rttNanos >= longRttNanos) {
+                onSample(rttNanos, inFlightAtStart);
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * longRttAlpha;
+        }
+        // Depois de uma queda sustentada de latência a média longa alcança a atual mais rápido
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Limite de tamanho para os mapas concorrentes usados como cache com expiração (principals, chaves
+ * de API, negative cache de JWT, sessões).
+ *
+ * Quando o mapa enche, {@link #makeRoom} remove as entradas expiradas e, se ainda houver mais que
+ * 90% do limite, descarta outras em ordem arbitrária até chegar nisso: a folga de ~10% evita uma
+ * varredura a cada inserção seguinte.
+ */
+public final class BoundedMaps {
+
+    private BoundedMaps() {
+    }
+
+    public static <K, V> int makeRoom(Map<K, V> map, int maxSize, Predicate<? super V> expired) {
+        return makeRoom(map, maxSize, expired, map::remove);
+    }
+
+    /**
+     * Abre espaço em {@code map} chamando {@code remove} para cada entrada descartada (para quem
+     * mantém índices secundários). Devolve quantas entradas ainda válidas foram descartadas.
+     */
+    public static <K, V> int makeRoom(Map<K, V> map, int maxSize, Predicate<? super V> expired,
+                                      BiConsumer<? super K, ? super V> remove) {
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (expired.test(entry.getValue())) {
+                remove.accept(entry.getKey(), entry.getValue());
+            }
+        }
+
+        int toRemove = map.size() - (maxSize - maxSize / 10);
+        int dropped = 0;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (dropped >= toRemove) {
+                break;
+            }
+            remove.accept(entry.getKey(), entry.getValue());
+            dropped++;
+        }
+        return dropped;
+    }
+}
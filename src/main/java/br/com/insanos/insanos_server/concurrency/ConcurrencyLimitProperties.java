@@ -0,0 +1,50 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partições de {@code insanos.concurrency-limit.partitions[n]}, avaliadas em ordem: a primeira
+ * cujo padrão (e método, se informado) casa define o limite. Cada partição tem seu próprio limite
+ * adaptativo, então uma rajada de logins não consome a capacidade das leituras autenticadas.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "insanos.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Quanto a latência pode subir em relação à média longa antes do limite encolher
+    private double tolerance = 1.5;
+
+    // Peso de cada ajuste (0..1)
+    private double smoothing = 0.2;
+
+    // Amostras na média móvel longa de latência
+    private int longWindow = 600;
+
+    private List<Partition> partitions = new ArrayList<>();
+
+    @Data
+    public static class Partition {
+
+        private String name;
+
+        // Padrão de path do Spring (PathPattern)
+        private String pattern;
+
+        // Vazio = qualquer método
+        private List<String> methods = new ArrayList<>();
+
+        private int initialLimit = 20;
+
+        private int minLimit = 5;
+
+        private int maxLimit = 200;
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Agrupa cargas concorrentes da mesma chave em uma só (como o singleflight do Go).
+ *
+ * A primeira thread a pedir uma chave (líder) executa o loader na própria thread; as que chegam
+ * enquanto a carga está em andamento esperam o mesmo resultado. Semântica:
+ * <ul>
+ *   <li>erro do loader: o líder e todos os que esperavam recebem a mesma exceção
+ *       (checked vem embrulhada em {@link IllegalStateException}); a próxima chamada tenta de novo;</li>
+ *   <li>timeout: só quem espera tem limite; ao estourar recebe {@link WaitTimeoutException} e a carga
+ *       do líder continua, servindo quem chegar depois;</li>
+ *   <li>nada é guardado depois da carga terminar: cache é responsabilidade de quem usa;</li>
+ *   <li>{@link #forget} desassocia a carga em andamento, para que chamadas seguintes (depois de uma
+ *       invalidação, por exemplo) não recebam um valor lido antes dela.</li>
+ * </ul>
+ */
+public class SingleFlight<K, V> {
+
+    public static class WaitTimeoutException extends RuntimeException {
+
+        public WaitTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Function<K, V> loader, Duration waitTimeout) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return await(key, existing, waitTimeout);
+        }
+
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Chamadas que aproveitaram a carga de outra thread
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    private V await(K key, CompletableFuture<V> flight, Duration waitTimeout) {
+        try {
+            return flight.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            throw new WaitTimeoutException("Tempo esgotado aguardando carga em andamento de " + key
+                + " (" + waitTimeout.toMillis() + " ms)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando carga em andamento de " + key, e);
+        }
+    }
+}
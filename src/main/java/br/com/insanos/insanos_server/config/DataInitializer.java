@@ -6,10 +6,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Component
@@ -17,11 +17,13 @@ public class DataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
-    @Autowired
-    private UserRepository userRepository;
+    // Hashes BCrypt (custo 10) pré-calculados de "insanos321" e "admin123": evita dois encode()
+    // (~100 ms cada) na thread principal antes da aplicação ficar pronta
+    static final String DEFAULT_USER_PASSWORD_HASH = "$2a$10$bxmRfxR9lhAigY8pdiYrT.KY7oSDF4gnNg8j23Uz7JiwdvxYIpYUe";
+    static final String ADMIN_PASSWORD_HASH = "$2a$10$qG2EadXOLMcwNbzmiIoMCudjnz6EnzOCFb/7W3IaWi47D8ctLtv5W";
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserRepository userRepository;
 
     @Override
     public void run(String... args) throws Exception {
@@ -29,12 +31,16 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void initializeUsers() {
+        // Uma única query para os dois emails
+        Set<String> existingEmails = new HashSet<>(
+            userRepository.findExistingEmails(List.of("user@insanos.com", "admin@insanos.com")));
+
         // Criar usuário padrão: user@insanos.com / insanos321
-        if (!userRepository.existsByEmail("user@insanos.com")) {
+        if (!existingEmails.contains("user@insanos.com")) {
             User user = new User();
             user.setUsername("insanos");
             user.setEmail("user@insanos.com");
-            user.setPassword(passwordEncoder.encode("insanos321"));
+            user.setPassword(DEFAULT_USER_PASSWORD_HASH);
 
             Set<String> roles = new HashSet<>();
             roles.add("ROLE_USER");
@@ -51,11 +57,11 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         // Criar usuário admin (opcional)
-        if (!userRepository.existsByEmail("admin@insanos.com")) {
+        if (!existingEmails.contains("admin@insanos.com")) {
             User admin = new User();
             admin.setUsername("admin");
             admin.setEmail("admin@insanos.com");
-            admin.setPassword(passwordEncoder.encode("admin123"));
+            admin.setPassword(ADMIN_PASSWORD_HASH);
 
             Set<String> adminRoles = new HashSet<>();
             adminRoles.add("ROLE_USER");
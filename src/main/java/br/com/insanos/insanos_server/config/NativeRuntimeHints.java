@@ -0,0 +1,110 @@
+package br.com.insanos.insanos_server.config;
+
+import br.com.insanos.insanos_server.dto.ApiKeyRequest;
+import br.com.insanos.insanos_server.dto.ApiKeyResponse;
+import br.com.insanos.insanos_server.dto.JwtResponse;
+import br.com.insanos.insanos_server.dto.LoginRequest;
+import br.com.insanos.insanos_server.dto.MessageResponse;
+import br.com.insanos.insanos_server.dto.RegisterRequest;
+import br.com.insanos.insanos_server.dto.UserImportResponse;
+import br.com.insanos.insanos_server.dto.UserPageResponse;
+import br.com.insanos.insanos_server.dto.UserSearchRequest;
+import br.com.insanos.insanos_server.dto.UserSummary;
+import br.com.insanos.insanos_server.dto.UserUpdateRequest;
+import br.com.insanos.insanos_server.logging.CountingAsyncAppender;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Metadados de reachability para o build nativo (mvn -Pnative native:compile).
+ *
+ * O Spring AOT já cobre beans, JPA e os tipos @RequestBody; aqui fica o que ele não enxerga:
+ * - jjwt-api carrega a implementação por nome (Classes.newInstance) e o jjwt-impl busca
+ *   serializer/deserializer JSON e algoritmos de compressão via ServiceLoader;
+ * - DTOs devolvidos em ResponseEntity<?> (tipo genérico não inferível) e lidos pelo ObjectMapper;
+ * - a projeção JPQL "select new UserSummary(...)" instancia o DTO por reflexão;
+ * - o appender do logback-spring.xml e os proxies JDK que o datasource-proxy cria para a contagem de queries.
+ * H2 e Hibernate usam os metadados do GraalVM Reachability Metadata Repository.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeRuntimeHints.class)
+@RegisterReflectionForBinding({
+    ApiKeyRequest.class,
+    ApiKeyResponse.class,
+    JwtResponse.class,
+    LoginRequest.class,
+    MessageResponse.class,
+    RegisterRequest.class,
+    UserImportResponse.class,
+    UserImportResponse.RowError.class,
+    UserPageResponse.class,
+    UserSearchRequest.class,
+    UserSummary.class,
+    UserUpdateRequest.class
+})
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+        "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+        "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+        "io.jsonwebtoken.impl.security.JwksBridge",
+        "io.jsonwebtoken.impl.security.KeysBridge",
+        "io.jsonwebtoken.impl.security.StandardCurves",
+        "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyOperations",
+        "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        "io.jsonwebtoken.impl.compression.DeflateCompressionAlgorithm",
+        "io.jsonwebtoken.impl.compression.GzipCompressionAlgorithm"
+    );
+
+    static final List<String> JJWT_SERVICE_FILES = List.of(
+        "META-INF/services/io.jsonwebtoken.io.Serializer",
+        "META-INF/services/io.jsonwebtoken.io.Deserializer",
+        "META-INF/services/io.jsonwebtoken.CompressionCodec"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_REFLECTIVE_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        JJWT_SERVICE_FILES.forEach(hints.resources()::registerPattern);
+
+        hints.reflection().registerType(UserSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.reflection().registerType(CountingAsyncAppender.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Mesma ordem de interfaces usada pelo JdkJdbcProxyFactory
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Connection.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Statement.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, PreparedStatement.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, CallableStatement.class);
+    }
+}
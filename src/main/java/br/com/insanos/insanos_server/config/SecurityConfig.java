@@ -1,6 +1,8 @@
 package br.com.insanos.insanos_server.config;
 
+import br.com.insanos.insanos_server.ratelimit.RateLimitFilter;
 import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyAuthFilter;
 import br.com.insanos.insanos_server.security.jwt.AuthEntryPointJwt;
 import br.com.insanos.insanos_server.security.jwt.AuthTokenFilter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +46,16 @@ public class SecurityConfig {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public ApiKeyAuthFilter apiKeyAuthFilter() {
+        return new ApiKeyAuthFilter();
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -82,6 +94,10 @@ public class SecurityConfig {
         http.authenticationProvider(authenticationProvider());
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // X-API-Key: só autentica o que o JWT não autenticou
+        http.addFilterAfter(apiKeyAuthFilter(), AuthTokenFilter.class);
+        // Rejeita excesso antes de verificar o token e carregar o usuário
+        http.addFilterBefore(rateLimitFilter(), AuthTokenFilter.class);
 
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()));
 
@@ -0,0 +1,93 @@
+package br.com.insanos.insanos_server.controller;
+
+import br.com.insanos.insanos_server.dto.ApiKeyRequest;
+import br.com.insanos.insanos_server.dto.ApiKeyResponse;
+import br.com.insanos.insanos_server.dto.MessageResponse;
+import br.com.insanos.insanos_server.service.ApiKeyService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/api-keys")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminApiKeyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminApiKeyController.class);
+
+    @Autowired
+    private ApiKeyService apiKeyService;
+
+    @PostMapping
+    public ResponseEntity<?> mintKey(@Valid @RequestBody ApiKeyRequest request) {
+        logger.info("🔑 Criação de chave de API solicitada - Username: {}, Nome: {}, Roles: {}",
+            request.getUsername(), request.getName(), request.getRoles());
+
+        try {
+            ApiKeyResponse response = apiKeyService.mint(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("⚠️ Criação de chave de API recusada: {}", e.getMessage());
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Requisição inválida");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            logger.error("❌ Erro ao criar chave de API: {}", e.getMessage());
+            logger.debug("Stack trace do erro de criação de chave:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao criar chave de API: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> listKeys() {
+        try {
+            return ResponseEntity.ok(apiKeyService.list());
+        } catch (Exception e) {
+            logger.error("❌ Erro na listagem de chaves de API: {}", e.getMessage());
+            logger.debug("Stack trace do erro de listagem de chaves:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao listar chaves de API: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> revokeKey(@PathVariable Long id) {
+        logger.info("🚫 Revogação de chave de API solicitada - ID: {}", id);
+
+        try {
+            if (!apiKeyService.revoke(id)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Não encontrado");
+                error.put("message", "Chave de API " + id + " não existe");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            return ResponseEntity.ok(new MessageResponse("Chave de API revogada com sucesso!"));
+        } catch (Exception e) {
+            logger.error("❌ Erro ao revogar chave de API {}: {}", id, e.getMessage());
+            logger.debug("Stack trace do erro de revogação de chave:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao revogar chave de API: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
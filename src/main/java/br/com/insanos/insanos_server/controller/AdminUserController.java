@@ -0,0 +1,227 @@
+package br.com.insanos.insanos_server.controller;
+
+import br.com.insanos.insanos_server.dto.MessageResponse;
+import br.com.insanos.insanos_server.dto.UserImportResponse;
+import br.com.insanos.insanos_server.dto.UserPageResponse;
+import br.com.insanos.insanos_server.dto.UserSearchRequest;
+import br.com.insanos.insanos_server.dto.UserUpdateRequest;
+import br.com.insanos.insanos_server.search.UsernameIndex;
+import br.com.insanos.insanos_server.service.UserAdminService;
+import br.com.insanos.insanos_server.service.UserExportService;
+import br.com.insanos.insanos_server.service.UserImportService;
+import br.com.insanos.insanos_server.service.UserQueryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminUserController.class);
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final int MAX_SUGGESTIONS = 50;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserQueryService userQueryService;
+
+    @Autowired
+    private UserAdminService userAdminService;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @GetMapping
+    public ResponseEntity<?> listUsers(@Valid UserSearchRequest search) {
+        logger.debug("Listagem de usuários - Filtros: {}", search);
+
+        try {
+            UserPageResponse page = userQueryService.listUsers(search);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("❌ Erro na listagem de usuários: {}", e.getMessage());
+            logger.debug("Stack trace do erro de listagem:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao listar usuários: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestUsernames(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isEmpty() || limit < 1 || limit > MAX_SUGGESTIONS) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Parâmetros inválidos");
+            error.put("message", "prefix é obrigatório e limit deve estar entre 1 e " + MAX_SUGGESTIONS);
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        if (!usernameIndex.isReady()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Serviço indisponível");
+            error.put("message", "Índice de usernames ainda está sendo construído");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+
+        List<String> usernames = usernameIndex.suggest(prefix, limit);
+        return ResponseEntity.ok(usernames);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
+        logger.info("🗑️ Remoção de usuário solicitada - ID: {}", id);
+
+        try {
+            if (!userAdminService.deleteUser(id)) {
+                return notFound(id);
+            }
+            return ResponseEntity.ok(new MessageResponse("Usuário removido com sucesso!"));
+        } catch (Exception e) {
+            logger.error("❌ Erro ao remover usuário {}: {}", id, e.getMessage());
+            logger.debug("Stack trace do erro de remoção:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao remover usuário: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody UserUpdateRequest update) {
+        logger.info("✏️ Atualização de usuário solicitada - ID: {}, Alterações: {}", id, update);
+
+        try {
+            if (!userAdminService.updateUser(id, update)) {
+                return notFound(id);
+            }
+            return ResponseEntity.ok(new MessageResponse("Usuário atualizado com sucesso!"));
+        } catch (Exception e) {
+            logger.error("❌ Erro ao atualizar usuário {}: {}", id, e.getMessage());
+            logger.debug("Stack trace do erro de atualização:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao atualizar usuário: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable Long id) {
+        logger.info("🚫 Revogação de tokens solicitada - ID: {}", id);
+
+        try {
+            if (!userAdminService.revokeTokens(id)) {
+                return notFound(id);
+            }
+            return ResponseEntity.ok(new MessageResponse("Tokens revogados com sucesso!"));
+        } catch (Exception e) {
+            logger.error("❌ Erro ao revogar tokens do usuário {}: {}", id, e.getMessage());
+            logger.debug("Stack trace do erro de revogação:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao revogar tokens: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+
+        logger.info("📥 Importação de usuários iniciada - Formato: {}", format);
+
+        try {
+            UserImportResponse response = userImportService.importUsers(request.getInputStream(), format);
+
+            logger.info("✅ Importação concluída - Recebidos: {}, Importados: {}, Falhas: {}, Tempo: {} ms",
+                response.getReceived(),
+                response.getImported(),
+                response.getFailed(),
+                response.getElapsedMs());
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("❌ Erro na importação de usuários: {}", e.getMessage());
+            logger.debug("Stack trace do erro de importação:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao importar usuários: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    // Escreve direto no OutputStream da resposta; depois do primeiro flush o status já foi enviado
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        UserExportService.Format exportFormat = "csv".equalsIgnoreCase(format)
+                ? UserExportService.Format.CSV
+                : UserExportService.Format.NDJSON;
+
+        logger.info("📤 Exportação de usuários iniciada - Formato: {}", exportFormat);
+
+        long start = System.nanoTime();
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(exportFormat == UserExportService.Format.CSV ? TEXT_CSV : APPLICATION_NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.name().toLowerCase() + "\"");
+
+        try {
+            long exported = userExportService.export(exportFormat, response.getOutputStream());
+            logger.info("✅ Exportação concluída - Usuários: {}, Tempo: {} ms",
+                exported, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            // Normalmente o cliente fechou a conexão no meio do download
+            logger.warn("⚠️ Exportação interrompida: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("❌ Erro na exportação de usuários: {}", e.getMessage());
+            logger.debug("Stack trace do erro de exportação:", e);
+
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro ao exportar usuários");
+            }
+        }
+    }
+
+    private ResponseEntity<?> notFound(Long id) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Não encontrado");
+        error.put("message", "Usuário " + id + " não existe");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+}
@@ -108,7 +108,7 @@ public class AuthController {
 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-                logger.info("✅ Usuário autenticado - Username: {}, ID: {}",
+                logger.debug("✅ Usuário autenticado - Username: {}, ID: {}",
                     userDetails.getUsername(),
                     userDetails.getId());
 
@@ -148,7 +148,7 @@ public class AuthController {
 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-                logger.info("✅ Dados do usuário recuperados - Username: {}, ID: {}",
+                logger.debug("✅ Dados do usuário recuperados - Username: {}, ID: {}",
                     userDetails.getUsername(),
                     userDetails.getId());
 
@@ -174,5 +174,30 @@ public class AuthController {
                     .body(Map.of("error", "Erro ao buscar dados do usuário"));
         }
     }
-}
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            logger.warn("⚠️ Tentativa de logout sem autenticação");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Não autenticado"));
+        }
+
+        logger.info("🚪 Logout - Username: {}", userDetails.getUsername());
+
+        try {
+            MessageResponse response = authService.logout(userDetails.getUsername());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("❌ Erro no logout - Username: {}, Erro: {}", userDetails.getUsername(), e.getMessage());
+            logger.debug("Stack trace do erro de logout:", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro no servidor");
+            error.put("message", "Erro ao realizar logout: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.insanos.insanos_server.dataset;
+
+import br.com.insanos.insanos_server.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Popula o banco com N usuários sintéticos para benchmarks e testes de carga.
+ *
+ * <ul>
+ *   <li>Senha hasheada uma única vez e reutilizada em todas as linhas (sem BCrypt por linha)</li>
+ *   <li>Inserts em lotes JDBC, ids reservados na mesma sequência usada pelo Hibernate</li>
+ *   <li>Todos recebem ROLE_USER; 1 a cada {@code admin-every} também ROLE_ADMIN</li>
+ *   <li>Com {@code snapshot} configurado (apenas H2): restaura o arquivo se existir,
+ *       senão gera e grava o snapshot para as próximas execuções</li>
+ * </ul>
+ *
+ * Ativado com {@code insanos.dataset.users=N}. Usuários: {@code bench0..benchN-1}, senha {@code bench123}.
+ */
+@Component
+@Order(100)
+@ConditionalOnProperty(name = "insanos.dataset.users")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String INSERT_USER =
+        "INSERT INTO users (id, username, email, password, created_at, updated_at, enabled) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${insanos.dataset.users}")
+    private int users;
+
+    @Value("${insanos.dataset.username-prefix:bench}")
+    private String usernamePrefix;
+
+    @Value("${insanos.dataset.password:bench123}")
+    private String password;
+
+    @Value("${insanos.dataset.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${insanos.dataset.admin-every:100}")
+    private int adminEvery;
+
+    @Value("${insanos.dataset.disabled-every:50}")
+    private int disabledEvery;
+
+    @Value("${insanos.dataset.snapshot:}")
+    private String snapshot;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path snapshotFile = snapshot.isBlank() ? null : Path.of(snapshot);
+
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            restore(snapshotFile);
+            return;
+        }
+
+        generate(users);
+
+        if (snapshotFile != null) {
+            snapshot(snapshotFile);
+        }
+    }
+
+    public void generate(int count) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) > 0 FROM users WHERE username = ?", Boolean.class, usernamePrefix + "0"))) {
+            logger.info("✓ Dataset '{}' já existe no banco de dados, geração ignorada", usernamePrefix);
+            return;
+        }
+
+        logger.info("📊 Gerando dataset - Usuários: {}, Lote: {}", count, batchSize);
+        long start = System.nanoTime();
+
+        String hash = passwordEncoder.encode(password);
+        IdAllocator ids = new IdAllocator(sequenceNextValSql());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int offset = 0; offset < count; offset += batchSize) {
+            int first = offset;
+            int size = Math.min(batchSize, count - offset);
+
+            long[] chunkIds = new long[size];
+            List<Object[]> roles = new ArrayList<>(size + size / Math.max(adminEvery, 1) + 1);
+            for (int i = 0; i < size; i++) {
+                int n = first + i;
+                chunkIds[i] = ids.next();
+                roles.add(new Object[]{chunkIds[i], "ROLE_USER"});
+                if (adminEvery > 0 && n % adminEvery == 0) {
+                    roles.add(new Object[]{chunkIds[i], "ROLE_ADMIN"});
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int n = first + i;
+                    // created_at espalhado pelo último ano para os filtros por período
+                    Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(n % 525_600));
+                    ps.setLong(1, chunkIds[i]);
+                    ps.setString(2, usernamePrefix + n);
+                    ps.setString(3, usernamePrefix + n + "@bench.local");
+                    ps.setString(4, hash);
+                    ps.setTimestamp(5, createdAt);
+                    ps.setTimestamp(6, createdAt);
+                    ps.setBoolean(7, disabledEvery <= 0 || n % disabledEvery != 0);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+
+            if ((offset / batchSize) % 100 == 0) {
+                logger.debug("Dataset: {} de {} usuários inseridos", offset + size, count);
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("✅ Dataset gerado - {} usuários em {} s ({} usuários/s)",
+            count, String.format("%.1f", seconds), String.format("%.0f", count / seconds));
+    }
+
+    public void snapshot(Path file) throws SQLException {
+        requireH2();
+        long start = System.nanoTime();
+        jdbcTemplate.execute("SCRIPT TO '" + sqlPath(file) + "' COMPRESSION ZIP");
+        logger.info("💾 Snapshot do banco gravado em {} ({} ms)", file, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void restore(Path file) throws SQLException {
+        requireH2();
+        long start = System.nanoTime();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("RUNSCRIPT FROM '" + sqlPath(file) + "' COMPRESSION ZIP");
+        logger.info("💾 Banco restaurado de {} ({} ms)", file, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void requireH2() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"H2".equalsIgnoreCase(product)) {
+                throw new IllegalStateException("Snapshot/restore suportado apenas em H2, banco atual: " + product);
+            }
+        }
+    }
+
+    private String sequenceNextValSql() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString("users_seq");
+    }
+
+    // Mesma semântica do otimizador pooled do Hibernate: o valor v da sequência reserva os ids (v - allocationSize, v]
+    private class IdAllocator {
+
+        private final String nextValSql;
+        private long next = 1;
+        private long hi = 0;
+
+        IdAllocator(String nextValSql) {
+            this.nextValSql = nextValSql;
+        }
+
+        long next() {
+            if (next > hi) {
+                hi = jdbcTemplate.queryForObject(nextValSql, Long.class);
+                next = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1);
+            }
+            return next++;
+        }
+    }
+
+    private static String sqlPath(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.insanos.insanos_server.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Compensa o atraso de replicação: por {@code insanos.datasource.replica.max-lag} depois de uma
+ * escrita, leituras do mesmo usuário (ou qualquer leitura, depois de uma escrita em massa) vão
+ * para o primário mesmo dentro de transações readOnly.
+ *
+ * Sem réplica configurada o registro continua sendo feito, mas não muda nada: tudo já vai para o primário.
+ */
+@Component
+public class ReadAfterWriteGuard {
+
+    // Lido pelo ReadWriteRoutingDataSource no momento em que a conexão física é obtida
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    @Value("${insanos.datasource.replica.max-lag:PT2S}")
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    private volatile long lastBulkWriteNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+
+    public void markWritten(String username) {
+        long now = System.nanoTime();
+        if (recentWrites.size() >= CLEANUP_THRESHOLD) {
+            recentWrites.values().removeIf(writtenAt -> now - writtenAt > maxLag.toNanos());
+        }
+        recentWrites.put(username, now);
+    }
+
+    // Importações: marcar usuário a usuário encheria o mapa; fixa todas as leituras no primário
+    public void markBulkWrite() {
+        lastBulkWriteNanos = System.nanoTime();
+    }
+
+    public boolean isRecentlyWritten(String username) {
+        long now = System.nanoTime();
+        long lag = maxLag.toNanos();
+        if (now - lastBulkWriteNanos <= lag) {
+            return true;
+        }
+        Long writtenAt = recentWrites.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (now - writtenAt > lag) {
+            recentWrites.remove(username, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Executa a leitura no primário se o usuário foi alterado há pouco. Precisa ser chamado antes
+     * do primeiro comando SQL da transação (a conexão física só é obtida nesse momento).
+     */
+    public <T> T readOnPrimaryIfRecentlyWritten(String username, Supplier<T> read) {
+        if (!isRecentlyWritten(username) || Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            return read.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.insanos.insanos_server.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia transações readOnly para a réplica e todo o resto (escritas, leituras fora de transação,
+ * DDL do Hibernate) para o primário.
+ *
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: o JpaTransactionManager pede a conexão
+ * ao abrir a transação, antes de marcá-la como readOnly; com o proxy a escolha acontece no
+ * primeiro comando SQL.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    public static Target currentTarget() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadAfterWriteGuard.isPrimaryRequired()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
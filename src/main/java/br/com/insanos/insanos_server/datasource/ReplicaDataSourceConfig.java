@@ -0,0 +1,63 @@
+package br.com.insanos.insanos_server.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Ativado por {@code insanos.datasource.replica.url}. Substitui o DataSource do Spring Boot por
+ * dois pools (primário = spring.datasource.*, réplica = insanos.datasource.replica.*) atrás do
+ * {@link ReadWriteRoutingDataSource}. Os pools não são candidatos a injeção por tipo: JPA,
+ * JdbcTemplate e o resto da aplicação recebem o DataSource roteado.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "insanos.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("insanos.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${insanos.datasource.replica.url}") String url,
+                                              @Value("${insanos.datasource.replica.username:}") String username,
+                                              @Value("${insanos.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        // Proteção extra: a réplica recusa escrita mesmo se o roteamento errar
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        logger.info("🔀 Roteamento de leitura ativo - transações readOnly vão para a réplica");
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+}
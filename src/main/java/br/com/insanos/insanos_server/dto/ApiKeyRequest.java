@@ -0,0 +1,32 @@
+package br.com.insanos.insanos_server.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyRequest {
+
+    @NotBlank(message = "Username é obrigatório")
+    private String username;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 100, message = "Nome deve ter no máximo 100 caracteres")
+    private String name;
+
+    // "admin", "user" ou o nome completo ("ROLE_ADMIN"); precisam estar entre as roles do usuário
+    @NotEmpty(message = "Informe ao menos uma role")
+    private Set<String> roles;
+
+    // Sem valor: a chave não expira
+    @Positive(message = "Validade deve ser positiva")
+    private Integer expiresInDays;
+}
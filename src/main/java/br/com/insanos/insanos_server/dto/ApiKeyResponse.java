@@ -0,0 +1,28 @@
+package br.com.insanos.insanos_server.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyResponse {
+
+    private Long id;
+    private String prefix;
+    private String name;
+    private String username;
+    private Set<String> roles;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime revokedAt;
+
+    // Chave completa: só na resposta da criação, não é possível recuperá-la depois
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String key;
+}
@@ -0,0 +1,19 @@
+package br.com.insanos.insanos_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+    private List<UserSummary> users = new ArrayList<>();
+
+    // null quando não há próxima página
+    private Long nextAfterId;
+}
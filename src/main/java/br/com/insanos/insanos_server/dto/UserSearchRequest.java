@@ -0,0 +1,38 @@
+package br.com.insanos.insanos_server.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchRequest {
+
+    // Keyset: retorna usuários com id maior que este (use o nextAfterId da página anterior)
+    @Min(value = 0, message = "afterId deve ser maior ou igual a zero")
+    private Long afterId;
+
+    @Min(value = 1, message = "limit deve ser no mínimo 1")
+    @Max(value = 500, message = "limit deve ser no máximo 500")
+    private int limit = 50;
+
+    // Prefixo do username
+    private String username;
+
+    // "admin", "user" ou o nome completo ("ROLE_ADMIN")
+    private String role;
+
+    private Boolean enabled;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,31 @@
+package br.com.insanos.insanos_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private Long id;
+    private String username;
+    private String email;
+    private Set<String> roles = new TreeSet<>();
+    private LocalDateTime createdAt;
+    private boolean enabled;
+
+    // Usado pela projeção JPQL (select new ...), sem carregar a entidade nem o hash da senha
+    public UserSummary(Long id, String username, String email, LocalDateTime createdAt, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.createdAt = createdAt;
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.insanos.insanos_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+// Campos nulos não são alterados
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpdateRequest {
+
+    private Boolean enabled;
+
+    // "admin", "user" ou o nome completo ("ROLE_ADMIN")
+    private Set<String> roles;
+}
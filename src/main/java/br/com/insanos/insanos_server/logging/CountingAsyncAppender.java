@@ -0,0 +1,44 @@
+package br.com.insanos.insanos_server.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender que contabiliza os eventos descartados, seja pelo discardingThreshold
+ * (TRACE/DEBUG/INFO com a fila quase cheia) ou por fila cheia com neverBlock ativo.
+ * O total é exposto como métrica em {@link LoggingMetrics}.
+ *
+ * <p>A fila cheia é detectada pela API pública ({@code getRemainingCapacity()}) antes de
+ * delegar ao fluxo padrão, sem acesso à fila interna. Com escritores concorrentes disputando
+ * as últimas vagas, um evento pode ver uma vaga livre e mesmo assim ser recusado pelo offer;
+ * esse descarte não é contado, então a métrica é um limite inferior.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder droppedEvents = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            // Seria descartado de qualquer forma (threshold ou offer recusado)
+            droppedEvents.increment();
+            return;
+        }
+        super.append(eventObject);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            droppedEvents.increment();
+        }
+        return discardable;
+    }
+
+    public static long getDroppedCount() {
+        return droppedEvents.sum();
+    }
+}
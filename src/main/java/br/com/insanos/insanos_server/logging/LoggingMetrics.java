@@ -0,0 +1,18 @@
+package br.com.insanos.insanos_server.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.async.dropped", this, metrics -> CountingAsyncAppender.getDroppedCount())
+                .description("Eventos de log descartados pelo appender assíncrono")
+                .baseUnit("events")
+                .register(registry);
+    }
+}
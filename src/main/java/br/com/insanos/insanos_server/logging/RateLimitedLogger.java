@@ -0,0 +1,69 @@
+package br.com.insanos.insanos_server.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita a quantidade de mensagens WARN/ERROR emitidas por janela de tempo.
+ * Mensagens acima do limite são apenas contadas; o total suprimido é
+ * reportado em uma única linha WARN quando a próxima janela começa.
+ */
+public class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int permitsPerWindow;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final AtomicLong suppressedInWindow = new AtomicLong();
+    private final LongAdder suppressedTotal = new LongAdder();
+
+    public RateLimitedLogger(Logger delegate, int permitsPerWindow, Duration window) {
+        this.delegate = delegate;
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void error(String format, Object... arguments) {
+        if (delegate.isErrorEnabled() && tryAcquire()) {
+            delegate.error(format, arguments);
+        }
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (delegate.isWarnEnabled() && tryAcquire()) {
+            delegate.warn(format, arguments);
+        }
+    }
+
+    public long getSuppressedTotal() {
+        return suppressedTotal.sum();
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            permitsUsed.set(0);
+            long suppressed = suppressedInWindow.getAndSet(0);
+            if (suppressed > 0) {
+                delegate.warn("⚠️ {} mensagens de log suprimidas nos últimos {} ms",
+                    suppressed, Duration.ofNanos(now - start).toMillis());
+            }
+        }
+
+        if (permitsUsed.incrementAndGet() <= permitsPerWindow) {
+            return true;
+        }
+
+        suppressedInWindow.incrementAndGet();
+        suppressedTotal.increment();
+        return false;
+    }
+}
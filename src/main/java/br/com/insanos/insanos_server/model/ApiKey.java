@@ -0,0 +1,70 @@
+package br.com.insanos.insanos_server.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Chave de API de serviço (jobs em lote, integrações). A chave completa só é mostrada na criação;
+ * aqui fica o prefixo público, usado na busca, e o SHA-256 do segredo.
+ *
+ * A chave autentica como o usuário {@code userId}, mas só com as roles de {@code roles} que ele
+ * ainda tiver. O {@code username} é só para exibição e busca: um usuário removido e recriado com
+ * o mesmo nome tem outro id e não herda as chaves.
+ */
+@Entity
+@Table(name = "api_keys",
+    uniqueConstraints = @UniqueConstraint(columnNames = "prefix"),
+    indexes = {
+        @Index(name = "idx_api_keys_username", columnList = "username"),
+        @Index(name = "idx_api_keys_user_id", columnList = "user_id")
+    })
+@Data
+@NoArgsConstructor
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "api_keys_seq")
+    @SequenceGenerator(name = "api_keys_seq", sequenceName = "api_keys_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "prefix", nullable = false, length = 16)
+    private String prefix;
+
+    // SHA-256 do segredo em hexadecimal
+    @Column(name = "secret_hash", nullable = false, length = 64)
+    private String secretHash;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    // Id do dono; sem FK para a chave revogada continuar no histórico depois da remoção do usuário
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "api_key_roles", joinColumns = @JoinColumn(name = "api_key_id"))
+    @Column(name = "role")
+    private Set<String> roles = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.insanos.insanos_server.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de ciclo de vida de usuário aguardando entrega (transactional outbox). Gravado na mesma
+ * transação da alteração do {@link User}; o {@code OutboxRelay} entrega e preenche {@code deliveredAt}.
+ */
+@Entity
+@Table(name = "outbox_events",
+    // Atende o "delivered_at is null and parked_at is null order by id" do relay
+    indexes = @Index(name = "idx_outbox_pending", columnList = "delivered_at, parked_at, id"))
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    // JSON
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Depois de uma falha, o relay não tenta de novo antes disso
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Preenchido ao esgotar as tentativas: o relay deixa de buscar o evento
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    // Sinks que já aceitaram o evento numa passada que falhou em outro sink (nomes separados por vírgula)
+    @Column(name = "accepted_by", length = 255)
+    private String acceptedBy;
+
+    public OutboxEvent(String eventType, Long aggregateId, String username, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.username = username;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,14 +18,24 @@ import java.util.Set;
     uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
+    },
+    // Índices compostos terminando em id atendem os filtros da listagem keyset (id > ? order by id)
+    indexes = {
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_users_enabled_id", columnList = "enabled, id")
     })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequência com pool (allocationSize) em vez de IDENTITY: o Hibernate conhece o id antes
+    // do INSERT e consegue agrupar inserts em lotes JDBC (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -44,8 +55,10 @@ public class User {
     private String password;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_user_roles_role_user_id", columnList = "role, user_id"))
+    // role não nula: a chave primária (user_id, role) já serve as buscas por user_id
+    @Column(name = "role", nullable = false)
     private Set<String> roles = new HashSet<>();
 
     @Column(name = "created_at")
@@ -57,6 +70,24 @@ public class User {
     @Column(name = "enabled")
     private boolean enabled = true;
 
+    // Incrementada ao revogar tokens (logout, ação de admin); tokens com versão antiga são rejeitados
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
+    // Gravados só pelo UserActivityTracker (write-behind, UPDATE direto): a entidade nunca escreve
+    // estas colunas, então salvar um User carregado antes não volta os valores
+    @Column(name = "last_login_at", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(name = "last_seen_at", insertable = false, updatable = false)
+    private LocalDateTime lastSeenAt;
+
+    public User(Long id, String username, String email, String password, Set<String> roles,
+                LocalDateTime createdAt, LocalDateTime updatedAt, boolean enabled) {
+        this(id, username, email, password, roles, createdAt, updatedAt, enabled, 0L, null, null);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
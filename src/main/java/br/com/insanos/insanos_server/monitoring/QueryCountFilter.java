@@ -0,0 +1,111 @@
+package br.com.insanos.insanos_server.monitoring;
+
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conta statements JDBC e tempo de banco por requisição HTTP.
+ * Publica as métricas db.statements/db.time por rota e, fora de produção,
+ * os headers X-DB-Statements e X-DB-Time-Micros na resposta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String TIME_HEADER = "X-DB-Time-Micros";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final RateLimitedLogger suspiciousRequestLogger = new RateLimitedLogger(logger, 20, Duration.ofMinutes(1));
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.db.query-count.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${insanos.db.query-count.warn-threshold:10}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.start();
+        HttpServletResponse target = headerEnabled ? new StatsHeaderResponseWrapper(response, stats) : response;
+
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            QueryStats.clear();
+            if (headerEnabled && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("db.statements")
+                .description("Statements JDBC executados por requisição")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        Timer.builder("db.time")
+                .description("Tempo total de banco por requisição")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > warnThreshold) {
+            suspiciousRequestLogger.warn("⚠️ Possível N+1 - {} {} executou {} statements (limite: {})",
+                request.getMethod(), uri, stats.getStatements(), warnThreshold);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMicros(stats.getTotalNanos())));
+    }
+
+    // Headers precisam ser escritos antes do commit, ou seja, antes do corpo ser enviado
+    private static class StatsHeaderResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final QueryStats stats;
+
+        StatsHeaderResponseWrapper(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
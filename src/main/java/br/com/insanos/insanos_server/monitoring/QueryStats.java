@@ -0,0 +1,48 @@
+package br.com.insanos.insanos_server.monitoring;
+
+/**
+ * Contadores de statements JDBC da requisição corrente. Vive em um ThreadLocal
+ * aberto por {@link QueryCountFilter}; fora de uma requisição HTTP os registros são ignorados.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long totalNanos;
+    private long startedAt;
+
+    private QueryStats() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void beforeStatement() {
+        startedAt = System.nanoTime();
+    }
+
+    void afterStatement() {
+        statements++;
+        totalNanos += System.nanoTime() - startedAt;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+}
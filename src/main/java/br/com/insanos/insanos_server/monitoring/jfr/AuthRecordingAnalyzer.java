@@ -0,0 +1,94 @@
+package br.com.insanos.insanos_server.monitoring.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resume uma gravação JFR em percentis de latência por etapa de autenticação.
+ *
+ * <pre>
+ * java -cp target/classes br.com.insanos.insanos_server.monitoring.jfr.AuthRecordingAnalyzer gravacao.jfr
+ * </pre>
+ */
+public class AuthRecordingAnalyzer {
+
+    public record StageSummary(String flow, String stage, String outcome, int count,
+                               long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: AuthRecordingAnalyzer <arquivo.jfr>");
+            System.exit(1);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+
+    public static List<StageSummary> summarize(Path recording) throws IOException {
+        Map<String, LongList> durations = new TreeMap<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!AuthStageEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                String key = event.getString("flow") + '|' + event.getString("stage") + '|' + event.getString("outcome");
+                durations.computeIfAbsent(key, k -> new LongList()).add(event.getDuration().toNanos());
+            }
+        }
+
+        List<StageSummary> summaries = new ArrayList<>(durations.size());
+        durations.forEach((key, values) -> {
+            String[] parts = key.split("\\|", -1);
+            long[] sorted = values.sorted();
+            summaries.add(new StageSummary(parts[0], parts[1], parts[2], sorted.length,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]));
+        });
+        return summaries;
+    }
+
+    public static void print(List<StageSummary> summaries, PrintStream out) {
+        out.printf("%-10s %-16s %-8s %8s %12s %12s %12s %12s%n",
+            "flow", "stage", "outcome", "count", "p50(us)", "p90(us)", "p99(us)", "max(us)");
+        for (StageSummary s : summaries) {
+            out.printf("%-10s %-16s %-8s %8d %12.1f %12.1f %12.1f %12.1f%n",
+                s.flow(), s.stage(), s.outcome(), s.count(),
+                s.p50Nanos() / 1000.0, s.p90Nanos() / 1000.0, s.p99Nanos() / 1000.0, s.maxNanos() / 1000.0);
+        }
+    }
+
+    // Nearest-rank
+    static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static class LongList {
+
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.insanos.insanos_server.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma etapa da autenticação. {@link #start} sempre aloca o evento e
+ * atribui flow e stage (referências a constantes); sem gravação ativa o restante é
+ * apenas o begin/end, e o outcome só é preenchido quando o evento será gravado.
+ * Resumo das gravações: {@link AuthRecordingAnalyzer}.
+ */
+@Name(AuthStageEvent.NAME)
+@Label("Auth Stage")
+@Category({"Insanos", "Auth"})
+@Description("Duração e resultado de uma etapa de autenticação")
+@StackTrace(false)
+public class AuthStageEvent extends Event {
+
+    public static final String NAME = "insanos.AuthStage";
+
+    public static final String FLOW_FILTER = "filter";
+    public static final String FLOW_LOGIN = "login";
+    public static final String FLOW_REGISTER = "register";
+
+    public static final String STAGE_TOKEN_PARSE = "token.parse";
+    public static final String STAGE_TOKEN_VERIFY = "token.verify";
+    public static final String STAGE_PRINCIPAL_LOAD = "principal.load";
+    public static final String STAGE_AUTHENTICATE = "authenticate";
+    public static final String STAGE_TOKEN_GENERATE = "token.generate";
+    public static final String STAGE_PASSWORD_HASH = "password.hash";
+    public static final String STAGE_PERSIST = "persist";
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_FAILURE = "FAILURE";
+    public static final String OUTCOME_ABSENT = "ABSENT";
+
+    @Label("Flow")
+    String flow;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static AuthStageEvent start(String flow, String stage) {
+        AuthStageEvent event = new AuthStageEvent();
+        event.flow = flow;
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        finish(success ? OUTCOME_SUCCESS : OUTCOME_FAILURE);
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.insanos.insanos_server.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acrescenta cada evento como uma linha JSON em {@code insanos.outbox.file-sink.path}.
+ * Só para desenvolvimento (desligado por padrão): dados pessoais em texto, sem rotação nem fsync.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : batch) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("id", message.id());
+                line.put("type", message.type());
+                line.put("aggregateId", message.aggregateId());
+                line.put("username", message.username());
+                line.put("createdAt", message.createdAt().toString());
+                line.put("payload", objectMapper.readTree(message.payload()));
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.newLine();
+            }
+        }
+    }
+}
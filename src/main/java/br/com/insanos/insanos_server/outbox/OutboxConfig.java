@@ -0,0 +1,29 @@
+package br.com.insanos.insanos_server.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Sinks embutidos. Outros destinos entram como beans {@link OutboxSink} adicionais.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "insanos.outbox.file-sink.enabled", havingValue = "true")
+    public FileOutboxSink fileOutboxSink(@Value("${insanos.outbox.file-sink.path:logs/outbox/events.jsonl}") String path,
+                                         ObjectMapper objectMapper) {
+        return new FileOutboxSink(Path.of(path), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "insanos.outbox.memory-sink.enabled", havingValue = "true")
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.insanos.insanos_server.outbox;
+
+import br.com.insanos.insanos_server.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento entregue aos {@link OutboxSink}s, desacoplado da entidade JPA. {@code payload} é JSON.
+ */
+public record OutboxMessage(long id, String type, Long aggregateId, String username, String payload,
+                            LocalDateTime createdAt) {
+
+    static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(), event.getUsername(),
+            event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.insanos.insanos_server.outbox;
+
+import br.com.insanos.insanos_server.model.OutboxEvent;
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Grava eventos de ciclo de vida de usuário no outbox. Exige uma transação aberta: o evento só
+ * existe se a alteração do usuário for commitada, e vice-versa.
+ */
+@Component
+public class OutboxPublisher {
+
+    public static final String USER_REGISTERED = "USER_REGISTERED";
+    public static final String USER_ROLES_CHANGED = "USER_ROLES_CHANGED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered(User user) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userId", user.getId());
+        payload.put("username", user.getUsername());
+        payload.put("email", user.getEmail());
+        payload.put("roles", new TreeSet<>(user.getRoles()));
+        save(USER_REGISTERED, user, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRolesChanged(User user, Collection<String> previousRoles) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userId", user.getId());
+        payload.put("username", user.getUsername());
+        payload.put("previousRoles", new TreeSet<>(previousRoles));
+        payload.put("roles", new TreeSet<>(user.getRoles()));
+        save(USER_ROLES_CHANGED, user, payload);
+    }
+
+    private void save(String type, User user, Map<String, Object> payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(type, user.getId(), user.getUsername(),
+                objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + type, e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.insanos.insanos_server.outbox;
+
+import br.com.insanos.insanos_server.model.OutboxEvent;
+import br.com.insanos.insanos_server.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega os eventos do outbox aos {@link OutboxSink}s.
+ *
+ * A cada {@code insanos.outbox.poll-interval} busca até {@code insanos.outbox.batch-size} eventos
+ * pendentes (FOR UPDATE SKIP LOCKED, em ordem de id), entrega o lote a cada sink e marca como
+ * entregue, tudo na mesma transação; enquanto vierem lotes cheios continua sem esperar.
+ *
+ * Se um sink falhar o lote fica pendente: tentativas, último erro e os sinks que já aceitaram são
+ * registrados, e a próxima tentativa espera {@code insanos.outbox.retry-backoff} dobrando a cada
+ * falha (até {@code insanos.outbox.max-retry-backoff}). Como o lote falho é o primeiro por id, o
+ * relay inteiro espera junto e a ordem se mantém. Na nova tentativa cada sink recebe só o que ainda
+ * não aceitou. Depois de {@code insanos.outbox.max-attempts} falhas o evento é estacionado
+ * ({@code parked_at}) e sai da fila; volta zerando {@code parked_at} e {@code next_attempt_at}.
+ * Eventos entregues há mais de {@code insanos.outbox.retention} são apagados.
+ *
+ * Métricas: outbox.pending (sem entrega, inclusive estacionados), outbox.lag (idade do mais antigo
+ * sem entrega, em segundos), ambos relidos do banco ao fim de cada passada; outbox.delivery.latency
+ * (criação até entrega) e outbox.events{outcome=delivered|failed|parked}.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.outbox.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${insanos.outbox.poll-interval:PT1S}")
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    @Value("${insanos.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${insanos.outbox.retention:P7D}")
+    private Duration retention = Duration.ofDays(7);
+
+    @Value("${insanos.outbox.retry-backoff:PT1S}")
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    @Value("${insanos.outbox.max-retry-backoff:PT5M}")
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    @Value("${insanos.outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    private final AtomicLong pending = new AtomicLong();
+    // Epoch millis da criação do evento sem entrega mais antigo, lido na última passada; 0 = nenhum
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    private Timer deliveryLatency;
+    private Counter delivered;
+    private Counter failed;
+    private Counter parked;
+
+    private ScheduledExecutorService poller;
+    private long lastPurgeNanos = System.nanoTime();
+
+    @PostConstruct
+    void start() {
+        deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Tempo entre a gravação do evento no outbox e a entrega")
+                .register(meterRegistry);
+        delivered = Counter.builder("outbox.events")
+                .description("Eventos do outbox por resultado da entrega")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        failed = Counter.builder("outbox.events")
+                .description("Eventos do outbox por resultado da entrega")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        parked = Counter.builder("outbox.events")
+                .description("Eventos do outbox por resultado da entrega")
+                .tag("outcome", "parked")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Eventos do outbox aguardando entrega")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", oldestPendingMillis, OutboxRelay::lagSeconds)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (!enabled || sinks.isEmpty()) {
+            // Eventos ficam na tabela até o relay ser ligado (ou um sink configurado)
+            logger.info("📤 Relay do outbox desativado - Sinks: {}", sinks.stream().map(OutboxSink::name).toList());
+            return;
+        }
+
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(pollInterval.toMillis(), 1);
+        poller.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("📤 Relay do outbox ativo - Sinks: {}, Intervalo: {}, Lote: {}",
+            sinks.stream().map(OutboxSink::name).toList(), pollInterval, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Entrega um lote; retorna quantos eventos foram entregues (0 se não havia pendentes, se o lote
+     * está aguardando o backoff ou se a entrega falhou).
+     */
+    public synchronized int relayBatch() {
+        int relayed = new TransactionTemplate(transactionManager).execute(status -> deliverBatch());
+        if (relayed < batchSize) {
+            // Fim da passada (lote parcial, vazio, em espera ou falho)
+            refreshGauges();
+        }
+        return relayed;
+    }
+
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    private int deliverBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // O primeiro por id é o que falhou por último: enquanto estiver em backoff ninguém passa à frente
+        LocalDateTime nextAttemptAt = batch.get(0).getNextAttemptAt();
+        if (nextAttemptAt != null && nextAttemptAt.isAfter(now)) {
+            return 0;
+        }
+
+        List<String> acceptedNow = new ArrayList<>();
+        for (OutboxSink sink : sinks) {
+            List<OutboxMessage> messages = batch.stream()
+                    .filter(event -> !acceptedBy(event, sink.name()))
+                    .map(OutboxMessage::from)
+                    .toList();
+            if (messages.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.deliver(messages);
+                acceptedNow.add(sink.name());
+            } catch (Exception e) {
+                recordFailure(batch, sink.name() + ": " + e.getMessage(), acceptedNow, now);
+                return 0;
+            }
+        }
+
+        outboxEventRepository.markDelivered(batch.stream().map(OutboxEvent::getId).toList(), now);
+
+        long nowMillis = toMillis(now);
+        for (OutboxEvent event : batch) {
+            deliveryLatency.record(Math.max(nowMillis - toMillis(event.getCreatedAt()), 0), TimeUnit.MILLISECONDS);
+        }
+        delivered.increment(batch.size());
+        logger.debug("Outbox: {} eventos entregues", batch.size());
+        return batch.size();
+    }
+
+    private void recordFailure(List<OutboxEvent> batch, String error, List<String> acceptedNow, LocalDateTime now) {
+        String lastError = error.length() > 500 ? error.substring(0, 500) : error;
+        int parkedNow = 0;
+        for (OutboxEvent event : batch) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(lastError);
+            for (String sinkName : acceptedNow) {
+                if (!acceptedBy(event, sinkName)) {
+                    event.setAcceptedBy(event.getAcceptedBy() == null ? sinkName : event.getAcceptedBy() + "," + sinkName);
+                }
+            }
+            if (event.getAttempts() >= maxAttempts) {
+                event.setParkedAt(now);
+                parkedNow++;
+            } else {
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            }
+        }
+
+        failed.increment(batch.size());
+        logger.error("❌ Falha ao entregar lote do outbox ({} eventos, a partir do id {}, tentativa {}) - {}",
+            batch.size(), batch.get(0).getId(), batch.get(0).getAttempts(), error);
+        if (parkedNow > 0) {
+            parked.increment(parkedNow);
+            logger.warn("🅿️ Outbox: {} eventos estacionados após {} tentativas - Último erro: {}",
+                parkedNow, maxAttempts, lastError);
+        }
+    }
+
+    // retry-backoff dobrando a cada tentativa, limitado a max-retry-backoff
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private void refreshGauges() {
+        pending.set(outboxEventRepository.countByDeliveredAtIsNull());
+        LocalDateTime oldest = outboxEventRepository.findOldestUndeliveredCreatedAt();
+        oldestPendingMillis.set(oldest == null ? 0 : toMillis(oldest));
+    }
+
+    private static boolean acceptedBy(OutboxEvent event, String sinkName) {
+        String acceptedBy = event.getAcceptedBy();
+        return acceptedBy != null && Arrays.asList(acceptedBy.split(",")).contains(sinkName);
+    }
+
+    private void poll() {
+        try {
+            // Lote cheio: provavelmente há mais, continua sem esperar o próximo intervalo
+            while (relayBatch() == batchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            purgeIfDue();
+        } catch (RuntimeException e) {
+            logger.error("❌ Erro no relay do outbox: {}", e.getMessage());
+        }
+    }
+
+    private void purgeIfDue() {
+        if (System.nanoTime() - lastPurgeNanos < PURGE_INTERVAL.toNanos()) {
+            return;
+        }
+        lastPurgeNanos = System.nanoTime();
+        Integer purged = new TransactionTemplate(transactionManager).execute(status ->
+            outboxEventRepository.deleteDeliveredBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("🧹 Outbox: {} eventos entregues antigos removidos", purged);
+        }
+    }
+
+    private static double lagSeconds(AtomicLong oldestPendingMillis) {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0 : Math.max(System.currentTimeMillis() - oldest, 0) / 1000.0;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.insanos.insanos_server.outbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox (fila, webhook, arquivo...). Qualquer bean que implemente esta
+ * interface recebe os lotes do {@link OutboxRelay}, em ordem de criação.
+ *
+ * A entrega é at-least-once: se o lote falhar (neste ou em outro sink) ele é reenviado inteiro
+ * na próxima passada, então o consumidor deve ignorar ids já vistos.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    void deliver(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,187 @@
+package br.com.insanos.insanos_server.ratelimit;
+
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
+import br.com.insanos.insanos_server.security.jwt.AuthTokenFilter;
+import br.com.insanos.insanos_server.security.token.TokenService;
+import br.com.insanos.insanos_server.security.token.VerifiedToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de taxa por cliente, antes do {@link AuthTokenFilter}: requisições acima do limite são
+ * recusadas com 429 sem verificar token nem tocar no banco.
+ *
+ * Cada resposta de rota limitada leva os headers RateLimit-Limit, RateLimit-Remaining,
+ * RateLimit-Reset (segundos até o bucket encher) e RateLimit-Policy; o 429 leva também Retry-After.
+ * Métricas: http.ratelimit.requests (tags route, outcome) e http.ratelimit.buckets.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+    public static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitedLogger rejectedLogger = new RateLimitedLogger(logger, 20, Duration.ofMinutes(1));
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private record CompiledRule(int index, PathPattern pattern, RateLimitProperties.KeyType key, int capacity,
+                                long nanosPerToken, String policy, Counter allowed, Counter rejected) {
+    }
+
+    private List<CompiledRule> rules;
+
+    private TokenBucketTable buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = new TokenBucketTable(properties.getMaxBuckets());
+        rules = new ArrayList<>();
+
+        List<RateLimitProperties.Rule> configured = properties.getRules();
+        for (int i = 0; i < configured.size(); i++) {
+            RateLimitProperties.Rule rule = configured.get(i);
+            long nanosPerToken = Math.max(1, rule.getRefillPeriod().toNanos() / rule.getRefillTokens());
+            long windowSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rule.getCapacity() * nanosPerToken));
+            rules.add(new CompiledRule(i,
+                PathPatternParser.defaultInstance.parse(rule.getPattern()),
+                rule.getKey(),
+                rule.getCapacity(),
+                nanosPerToken,
+                rule.getCapacity() + ";w=" + windowSeconds,
+                counter(rule.getPattern(), "allowed"),
+                counter(rule.getPattern(), "rejected")));
+        }
+
+        Gauge.builder("http.ratelimit.buckets", buckets, TokenBucketTable::size)
+                .description("Buckets de rate limit em memória")
+                .register(meterRegistry);
+
+        logger.info("🚦 Rate limit {} - {} regras, até {} buckets",
+            properties.isEnabled() ? "ativo" : "desativado", rules.size(), properties.getMaxBuckets());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        CompiledRule rule = null;
+        for (CompiledRule candidate : rules) {
+            if (candidate.pattern().matches(path)) {
+                rule = candidate;
+                break;
+            }
+        }
+
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = clientKey(rule, request);
+        TokenBucketTable.Decision decision = buckets.tryConsume(
+            rule.index() + "|" + clientKey, rule.capacity(), rule.nanosPerToken(), System.nanoTime());
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(rule.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSecondsCeil(decision.resetNanos())));
+        response.setHeader(POLICY_HEADER, rule.policy());
+
+        if (decision.allowed()) {
+            rule.allowed().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected().increment();
+        rejectedLogger.warn("🚦 Limite de taxa excedido - Cliente: {}, Rota: {} {}",
+            clientKey, request.getMethod(), request.getRequestURI());
+        reject(request, response, decision);
+    }
+
+    // Subject só de token válido: um subject forjado não pode esgotar o bucket de outro usuário.
+    // O token verificado fica na requisição para o AuthTokenFilter não verificar de novo.
+    private String clientKey(CompiledRule rule, HttpServletRequest request) {
+        if (rule.key() == RateLimitProperties.KeyType.SUBJECT) {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith("Bearer ")) {
+                VerifiedToken token = tokenService.verify(header.substring(7));
+                if (token != null) {
+                    request.setAttribute(AuthTokenFilter.VERIFIED_TOKEN_ATTRIBUTE, token);
+                    return "sub:" + token.username();
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        TokenBucketTable.Decision decision) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsCeil(decision.retryAfterNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Limite de requisições excedido, tente novamente em instantes");
+        body.put("path", request.getServletPath());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private Counter counter(String route, String outcome) {
+        return Counter.builder("http.ratelimit.requests")
+                .description("Requisições avaliadas pelo rate limit")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.insanos.insanos_server.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regras de {@code insanos.rate-limit.rules[n]}, avaliadas em ordem: a primeira cujo padrão casa
+ * com o path define o limite da requisição. Paths sem regra não são limitados.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "insanos.rate-limit")
+public class RateLimitProperties {
+
+    public enum KeyType {
+        // IP do cliente (request.getRemoteAddr; atrás de proxy use server.forward-headers-strategy)
+        IP,
+        // Subject do JWT válido; requisições sem token válido caem no IP
+        SUBJECT
+    }
+
+    private boolean enabled = true;
+
+    // Total de buckets em memória; acima disso os menos usados são descartados (voltam cheios)
+    private int maxBuckets = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        // Padrão de path do Spring (PathPattern), ex.: /api/auth/login, /api/admin/**
+        private String pattern;
+
+        private KeyType key = KeyType.IP;
+
+        // Rajada máxima
+        private int capacity = 100;
+
+        // Reposição: refillTokens a cada refillPeriod
+        private int refillTokens = 100;
+
+        private Duration refillPeriod = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.insanos.insanos_server.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Buckets por chave em tabelas LRU particionadas (striping): cada partição tem seu próprio lock e
+ * um teto de entradas, então a memória fica limitada a {@code maxBuckets} mesmo com chaves
+ * forjadas (IPs aleatórios, tokens de vários usuários).
+ *
+ * Cada bucket é um único long no formato GCRA: o instante teórico em que o bucket volta a ficar
+ * cheio. Equivale a um token bucket de capacidade {@code capacity} reposto a um token a cada
+ * {@code nanosPerToken}, sem guardar contagem nem timestamp separados.
+ */
+public class TokenBucketTable {
+
+    static final int STRIPES = 64;
+
+    /**
+     * Resultado de uma tentativa de consumo. {@code resetNanos}: tempo até o bucket ficar cheio de
+     * novo; {@code retryAfterNanos}: espera até o próximo token, quando negado.
+     */
+    public record Decision(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    private static final class Cell {
+        long fullAt;
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public TokenBucketTable(int maxBuckets) {
+        int perStripe = Math.max(1, maxBuckets / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public Decision tryConsume(String key, int capacity, long nanosPerToken, long now) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        long burst = capacity * nanosPerToken;
+
+        synchronized (stripe) {
+            Cell cell = stripe.get(key);
+            long fullAt = cell != null ? Math.max(cell.fullAt, now) : now;
+            long next = fullAt + nanosPerToken;
+
+            if (next - now > burst) {
+                long retryAfter = next - now - burst;
+                return new Decision(false, 0, fullAt - now, retryAfter);
+            }
+
+            if (cell == null) {
+                cell = new Cell();
+                stripe.put(key, cell);
+            }
+            cell.fullAt = next;
+            long remaining = (burst - (next - now)) / nanosPerToken;
+            return new Decision(true, remaining, next - now, 0);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // Mesma dispersão do HashMap: usa os bits altos do hash na escolha da partição
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Cell> {
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cell> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.insanos.insanos_server.repository;
+
+import br.com.insanos.insanos_server.model.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    Optional<ApiKey> findByPrefix(String prefix);
+
+    boolean existsByPrefix(String prefix);
+
+    List<ApiKey> findAllByOrderByIdAsc();
+
+    List<ApiKey> findByUserIdAndRevokedAtIsNull(Long userId);
+}
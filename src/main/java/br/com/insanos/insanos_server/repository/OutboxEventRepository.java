@@ -0,0 +1,41 @@
+package br.com.insanos.insanos_server.repository;
+
+import br.com.insanos.insanos_server.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED (timeout -2): relays de outras instâncias pegam lotes diferentes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.deliveredAt is null and e.parkedAt is null order by e.id")
+    List<OutboxEvent> findPendingForUpdate(Pageable page);
+
+    // Inclui os estacionados: continuam sem entrega e mantêm outbox.lag alto até alguém intervir
+    long countByDeliveredAtIsNull();
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.deliveredAt is null")
+    LocalDateTime findOldestUndeliveredCreatedAt();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.deliveredAt = :deliveredAt where e.id in :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
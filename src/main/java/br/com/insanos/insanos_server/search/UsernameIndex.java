@@ -0,0 +1,199 @@
+package br.com.insanos.insanos_server.search;
+
+import br.com.insanos.insanos_server.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória de usernames para autocomplete por prefixo.
+ *
+ * A base é um {@code String[]} ordenado (compacto, busca binária) construído uma vez a partir do
+ * banco. Alterações posteriores vão para um delta: inserções num {@link ConcurrentSkipListSet} e
+ * remoções de nomes da base como tombstones. Quando o delta passa de
+ * {@code insanos.username-index.compaction-threshold}, base e delta são fundidos num novo array.
+ *
+ * Leituras não usam lock: leem o {@link State} publicado em um campo volatile. Escritas são
+ * serializadas (registro e remoção são raros comparados às buscas).
+ * A comparação é sensível a maiúsculas, como a unicidade de username no banco.
+ */
+@Component
+public class UsernameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private record State(String[] base, NavigableSet<String> added, Set<String> removed, boolean ready) {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${insanos.username-index.compaction-threshold:4096}")
+    private int compactionThreshold = 4096;
+
+    private volatile State state = new State(new String[0], new ConcurrentSkipListSet<>(), ConcurrentHashMap.newKeySet(), false);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                rebuild(usernames.iterator());
+            }
+        });
+
+        logger.info("🔎 Índice de usernames construído - {} usernames em {} ms",
+            state.base().length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Escritas feitas durante a construção ficam no delta e continuam valendo sobre a nova base
+    void rebuild(Iterator<String> usernames) {
+        List<String> loaded = new ArrayList<>();
+        boolean sorted = true;
+        String previous = null;
+        while (usernames.hasNext()) {
+            String username = usernames.next();
+            if (previous != null && previous.compareTo(username) > 0) {
+                sorted = false;
+            }
+            loaded.add(username);
+            previous = username;
+        }
+
+        String[] base = loaded.toArray(new String[0]);
+        // O ORDER BY do banco pode usar outra collation; só ordena de novo se necessário
+        if (!sorted) {
+            Arrays.sort(base);
+        }
+
+        synchronized (this) {
+            State current = state;
+            publish(base, current.added(), current.removed());
+        }
+    }
+
+    public boolean isReady() {
+        return state.ready();
+    }
+
+    public int size() {
+        State current = state;
+        return current.base().length + current.added().size() - current.removed().size();
+    }
+
+    // Antes da primeira construção a base ainda não é conhecida: o delta guarda tudo e o merge
+    // do rebuild descarta duplicados e aplica as remoções
+    public synchronized void add(String username) {
+        State current = state;
+        if (!current.removed().remove(username) || !current.ready()) {
+            current.added().add(username);
+        }
+        compactIfNeeded();
+    }
+
+    public synchronized void remove(String username) {
+        State current = state;
+        boolean wasAdded = current.added().remove(username);
+        if (!current.ready() || (!wasAdded && Arrays.binarySearch(current.base(), username) >= 0)) {
+            current.removed().add(username);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Até {@code limit} usernames que começam com {@code prefix}, em ordem lexicográfica.
+     * Custo O(log n + limit): busca binária na base, tailSet no delta e merge das duas sequências.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        State current = state;
+        String[] base = current.base();
+        List<String> result = new ArrayList<>(Math.min(limit, 64));
+
+        int position = Arrays.binarySearch(base, prefix);
+        int i = position >= 0 ? position : -position - 1;
+        Iterator<String> delta = current.added().tailSet(prefix, true).iterator();
+        String next = delta.hasNext() ? delta.next() : null;
+
+        while (result.size() < limit) {
+            String fromBase = i < base.length && base[i].startsWith(prefix) ? base[i] : null;
+            String fromDelta = next != null && next.startsWith(prefix) ? next : null;
+            if (fromBase == null && fromDelta == null) {
+                break;
+            }
+
+            String candidate;
+            if (fromDelta == null || (fromBase != null && fromBase.compareTo(fromDelta) < 0)) {
+                candidate = fromBase;
+                i++;
+                if (current.removed().contains(candidate)) {
+                    continue;
+                }
+            } else {
+                candidate = fromDelta;
+                next = delta.hasNext() ? delta.next() : null;
+                if (fromDelta.equals(fromBase)) {
+                    i++;
+                }
+            }
+            result.add(candidate);
+        }
+        return result;
+    }
+
+    private void compactIfNeeded() {
+        State current = state;
+        if (!current.ready() || current.added().size() + current.removed().size() < Math.max(compactionThreshold, current.base().length / 16)) {
+            return;
+        }
+        publish(current.base(), current.added(), current.removed());
+    }
+
+    // Funde base e delta num novo array ordenado e publica um estado com delta vazio
+    private void publish(String[] base, NavigableSet<String> added, Set<String> removed) {
+        String[] merged = new String[base.length + added.size()];
+        int size = 0;
+        int i = 0;
+        Iterator<String> delta = added.iterator();
+        String next = delta.hasNext() ? delta.next() : null;
+
+        while (i < base.length || next != null) {
+            String candidate;
+            if (next == null || (i < base.length && base[i].compareTo(next) < 0)) {
+                candidate = base[i++];
+            } else {
+                if (i < base.length && base[i].equals(next)) {
+                    i++;
+                }
+                candidate = next;
+                next = delta.hasNext() ? delta.next() : null;
+            }
+            if (!removed.contains(candidate)) {
+                merged[size++] = candidate;
+            }
+        }
+
+        state = new State(Arrays.copyOf(merged, size), new ConcurrentSkipListSet<>(), ConcurrentHashMap.newKeySet(), true);
+    }
+}
@@ -0,0 +1,397 @@
+package br.com.insanos.insanos_server.security;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Armazena principals fora do heap, para instalações com milhões de usuários ativos em que um
+ * mapa de {@link UserDetailsImpl} (strings, lista de authorities, Long) pesa no GC.
+ *
+ * Dois {@link MemorySegment}s de uma {@link Arena#ofShared() arena compartilhada}, alocados uma vez:
+ * <ul>
+ *   <li>tabela de registros de tamanho fixo, que também é o índice: endereçamento aberto com
+ *       sondagem linear pelo hash do username e remoção por deslocamento (sem tombstones);</li>
+ *   <li>arena de strings: username seguido do email em UTF-8, só com append; o espaço de registros
+ *       removidos ou substituídos é recuperado por compactação quando a arena enche.</li>
+ * </ul>
+ *
+ * Registro ({@value #RECORD_SIZE} bytes): id, versão de tokens, máscara de roles ({@link RoleMask}),
+ * expiração (nanoTime), offset das strings, hash, tamanhos e flags. O GC só enxerga os dois
+ * segmentos; offsets são long, então nenhuma das regiões tem o limite de 2 GB de um ByteBuffer.
+ *
+ * Leituras são otimistas ({@link StampedLock#tryOptimisticRead}) e caem para o lock de leitura se
+ * uma escrita as atravessar; escritas são exclusivas. Como uma leitura otimista pode ver um registro
+ * pela metade, offsets e tamanhos são conferidos contra o topo da arena antes de qualquer acesso. O
+ * principal devolvido é materializado a cada leitura, sem senha (o filtro JWT não usa) e com a lista
+ * de authorities compartilhada por máscara.
+ *
+ * {@link #close()} libera a memória; depois dele qualquer acesso lança {@link IllegalStateException}.
+ */
+public class OffHeapPrincipalStore implements AutoCloseable {
+
+    static final int RECORD_SIZE = 56;
+
+    private static final long ID = 0;
+    private static final long TOKEN_VERSION = 8;
+    private static final long ROLE_MASK = 16;
+    private static final long EXPIRES_AT = 24;
+    private static final long STRINGS_OFFSET = 32;
+    private static final long HASH = 40;
+    private static final long USERNAME_LENGTH = 44;
+    private static final long EMAIL_LENGTH = 46;
+    private static final long FLAGS = 48;
+
+    private static final byte USED = 1;
+    private static final byte ENABLED = 2;
+    private static final byte NO_EMAIL = 4;
+
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    // Ocupação máxima da tabela: acima disso as sondagens ficam longas
+    private static final double LOAD_FACTOR = 0.75;
+
+    private record Snapshot(long id, long tokenVersion, long roleMask, boolean enabled, String email) {
+    }
+
+    private final Arena memory = Arena.ofShared();
+    private final MemorySegment slots;
+    private final MemorySegment arena;
+    private final long mask;
+    private final int capacity;
+    private final RoleMask roles = new RoleMask();
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder rejected = new LongAdder();
+
+    private int count;
+    // Lidos pelas leituras otimistas para conferir offsets; o validate do stamp descarta o resto
+    private volatile long arenaTop;
+    private long deadBytes;
+
+    public OffHeapPrincipalStore(int capacity, long arenaBytes) {
+        if (capacity <= 0 || arenaBytes <= 0) {
+            throw new IllegalArgumentException("capacity e arenaBytes devem ser positivos");
+        }
+        long slotCount = Long.highestOneBit((long) Math.ceil(capacity / LOAD_FACTOR) * 2 - 1);
+        this.capacity = capacity;
+        this.mask = slotCount - 1;
+        this.slots = memory.allocate(slotCount * RECORD_SIZE, Long.BYTES);
+        this.arena = memory.allocate(arenaBytes, 1);
+    }
+
+    public UserDetailsImpl get(String username, long nowNanos) {
+        MemorySegment key = MemorySegment.ofArray(username.getBytes(StandardCharsets.UTF_8));
+        int hash = hash(username);
+
+        Snapshot snapshot = null;
+        boolean valid = false;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            snapshot = read(key, hash, nowNanos);
+            valid = lock.validate(stamp);
+        }
+        if (!valid) {
+            stamp = lock.readLock();
+            try {
+                snapshot = read(key, hash, nowNanos);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (snapshot == null) {
+            return null;
+        }
+        return new UserDetailsImpl(snapshot.id(), username, snapshot.email(), null,
+                roles.authorities(snapshot.roleMask()), snapshot.enabled(), snapshot.tokenVersion());
+    }
+
+    /**
+     * Grava ou substitui o principal. Devolve false, sem alterar nada, se ele não couber: tabela na
+     * capacidade, arena cheia mesmo depois de compactar ou mais de {@value RoleMask#MAX_ROLES} roles.
+     */
+    public boolean put(UserDetailsImpl principal, long expiresAtNanos) {
+        long roleMask = roles.toMask(principal.getAuthorities());
+        byte[] username = principal.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] email = principal.getEmail() != null ? principal.getEmail().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (roleMask == RoleMask.UNREPRESENTABLE || principal.getId() == null
+                || username.length > MAX_STRING_BYTES || email.length > MAX_STRING_BYTES) {
+            return reject();
+        }
+        int hash = hash(principal.getUsername());
+        int stringBytes = username.length + email.length;
+
+        long stamp = lock.writeLock();
+        try {
+            long slot = find(MemorySegment.ofArray(username), hash);
+            if (slot < 0 && count >= capacity) {
+                return reject();
+            }
+            if (arena.byteSize() - arenaTop < stringBytes) {
+                compact();
+                if (arena.byteSize() - arenaTop < stringBytes) {
+                    return reject();
+                }
+            }
+
+            if (slot >= 0) {
+                deadBytes += stringBytes(slot * RECORD_SIZE);
+            } else {
+                slot = hash & mask;
+                while ((slots.get(ValueLayout.JAVA_BYTE, slot * RECORD_SIZE + FLAGS) & USED) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                count++;
+            }
+
+            long offset = arenaTop;
+            MemorySegment.copy(username, 0, arena, ValueLayout.JAVA_BYTE, offset, username.length);
+            MemorySegment.copy(email, 0, arena, ValueLayout.JAVA_BYTE, offset + username.length, email.length);
+            arenaTop = offset + stringBytes;
+
+            long base = slot * RECORD_SIZE;
+            slots.set(ValueLayout.JAVA_LONG, base + ID, principal.getId());
+            slots.set(ValueLayout.JAVA_LONG, base + TOKEN_VERSION, principal.getTokenVersion());
+            slots.set(ValueLayout.JAVA_LONG, base + ROLE_MASK, roleMask);
+            slots.set(ValueLayout.JAVA_LONG, base + EXPIRES_AT, expiresAtNanos);
+            slots.set(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET, offset);
+            slots.set(ValueLayout.JAVA_INT, base + HASH, hash);
+            slots.set(ValueLayout.JAVA_SHORT, base + USERNAME_LENGTH, (short) username.length);
+            slots.set(ValueLayout.JAVA_SHORT, base + EMAIL_LENGTH, (short) email.length);
+            slots.set(ValueLayout.JAVA_BYTE, base + FLAGS, (byte) (USED
+                    | (principal.isEnabled() ? ENABLED : 0)
+                    | (principal.getEmail() == null ? NO_EMAIL : 0)));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(String username) {
+        MemorySegment key = MemorySegment.ofArray(username.getBytes(StandardCharsets.UTF_8));
+        int hash = hash(username);
+        long stamp = lock.writeLock();
+        try {
+            long slot = find(key, hash);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove as entradas expiradas e, se ainda houver mais que {@code target}, outras em ordem
+     * arbitrária até chegar nele.
+     */
+    public void trim(long nowNanos, int target) {
+        long stamp = lock.writeLock();
+        try {
+            sweep(nowNanos, Integer.MAX_VALUE);
+            if (count > target) {
+                sweep(nowNanos, target);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            slots.fill((byte) 0);
+            count = 0;
+            arenaTop = 0;
+            deadBytes = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Memória nativa reservada pelas duas regiões
+    public long getReservedBytes() {
+        return slots.byteSize() + arena.byteSize();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Libera as duas regiões. Chamado no desligamento, com o lock de escrita para não fechar a arena
+     * no meio de uma escrita.
+     */
+    @Override
+    public void close() {
+        long stamp = lock.writeLock();
+        try {
+            memory.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean reject() {
+        rejected.increment();
+        return false;
+    }
+
+    private Snapshot read(MemorySegment key, int hash, long nowNanos) {
+        long slot = find(key, hash);
+        if (slot < 0) {
+            return null;
+        }
+        long base = slot * RECORD_SIZE;
+        if (slots.get(ValueLayout.JAVA_LONG, base + EXPIRES_AT) - nowNanos <= 0) {
+            return null;
+        }
+        byte flags = slots.get(ValueLayout.JAVA_BYTE, base + FLAGS);
+        String email = null;
+        if ((flags & NO_EMAIL) == 0) {
+            long offset = slots.get(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET) + key.byteSize();
+            int length = Short.toUnsignedInt(slots.get(ValueLayout.JAVA_SHORT, base + EMAIL_LENGTH));
+            if (!inArena(offset, length)) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            MemorySegment.copy(arena, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+            email = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Snapshot(slots.get(ValueLayout.JAVA_LONG, base + ID), slots.get(ValueLayout.JAVA_LONG, base + TOKEN_VERSION),
+                slots.get(ValueLayout.JAVA_LONG, base + ROLE_MASK), (flags & ENABLED) != 0, email);
+    }
+
+    private long find(MemorySegment key, int hash) {
+        long slot = hash & mask;
+        for (long probes = 0; probes <= mask; probes++) {
+            long base = slot * RECORD_SIZE;
+            if ((slots.get(ValueLayout.JAVA_BYTE, base + FLAGS) & USED) == 0) {
+                return -1;
+            }
+            if (slots.get(ValueLayout.JAVA_INT, base + HASH) == hash && matches(base, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(long base, MemorySegment key) {
+        long length = key.byteSize();
+        if (Short.toUnsignedInt(slots.get(ValueLayout.JAVA_SHORT, base + USERNAME_LENGTH)) != length) {
+            return false;
+        }
+        long offset = slots.get(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET);
+        return inArena(offset, length) && MemorySegment.mismatch(arena, offset, offset + length, key, 0, length) == -1;
+    }
+
+    // Registro visto pela metade numa leitura otimista pode apontar para fora da parte escrita
+    private boolean inArena(long offset, long length) {
+        return offset >= 0 && offset + length <= arenaTop;
+    }
+
+    // Remoção por deslocamento (linear probing): puxa para o buraco os registros seguintes do
+    // cluster que não ficariam mais alcançáveis a partir do slot de origem
+    private void delete(long slot) {
+        deadBytes += stringBytes(slot * RECORD_SIZE);
+        count--;
+        long hole = slot;
+        long next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long base = next * RECORD_SIZE;
+            if ((slots.get(ValueLayout.JAVA_BYTE, base + FLAGS) & USED) == 0) {
+                break;
+            }
+            long home = slots.get(ValueLayout.JAVA_INT, base + HASH) & mask;
+            boolean reachable = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+            if (!reachable) {
+                MemorySegment.copy(slots, next * RECORD_SIZE, slots, hole * RECORD_SIZE, RECORD_SIZE);
+                hole = next;
+            }
+        }
+        slots.set(ValueLayout.JAVA_BYTE, hole * RECORD_SIZE + FLAGS, (byte) 0);
+    }
+
+    // Remove expiradas e, enquanto houver mais que target, qualquer entrada. Começa logo depois de um
+    // slot vazio: nenhum cluster de sondagem atravessa o início da varredura, e o deslocamento da
+    // remoção só traz para trás registros ainda não visitados
+    private void sweep(long nowNanos, int target) {
+        long start = 0;
+        while ((slots.get(ValueLayout.JAVA_BYTE, start * RECORD_SIZE + FLAGS) & USED) != 0) {
+            start++;
+        }
+        long slot = (start + 1) & mask;
+        for (long visited = 0; visited < mask; ) {
+            long base = slot * RECORD_SIZE;
+            if ((slots.get(ValueLayout.JAVA_BYTE, base + FLAGS) & USED) != 0
+                    && (slots.get(ValueLayout.JAVA_LONG, base + EXPIRES_AT) - nowNanos <= 0 || count > target)) {
+                delete(slot);
+                continue;
+            }
+            slot = (slot + 1) & mask;
+            visited++;
+        }
+    }
+
+    // Reescreve as strings vivas no começo da arena, na ordem em que já estavam
+    private void compact() {
+        if (deadBytes == 0) {
+            return;
+        }
+        // Offsets de entradas vivas são únicos: ordena os offsets e põe cada registro na sua posição
+        long[] offsets = new long[count];
+        int n = 0;
+        for (long slot = 0; slot <= mask; slot++) {
+            long base = slot * RECORD_SIZE;
+            if ((slots.get(ValueLayout.JAVA_BYTE, base + FLAGS) & USED) != 0) {
+                offsets[n++] = slots.get(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET);
+            }
+        }
+        Arrays.sort(offsets, 0, n);
+        long[] bases = new long[n];
+        for (long slot = 0; slot <= mask; slot++) {
+            long base = slot * RECORD_SIZE;
+            if ((slots.get(ValueLayout.JAVA_BYTE, base + FLAGS) & USED) != 0) {
+                bases[Arrays.binarySearch(offsets, 0, n, slots.get(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET))] = base;
+            }
+        }
+
+        // Destino nunca passa da origem: a cópia sobreposta é segura (MemorySegment.copy trata)
+        long top = 0;
+        for (int i = 0; i < n; i++) {
+            long offset = offsets[i];
+            long base = bases[i];
+            int length = stringBytes(base);
+            MemorySegment.copy(arena, offset, arena, top, length);
+            slots.set(ValueLayout.JAVA_LONG, base + STRINGS_OFFSET, top);
+            top += length;
+        }
+        arenaTop = top;
+        deadBytes = 0;
+    }
+
+    private int stringBytes(long base) {
+        return Short.toUnsignedInt(slots.get(ValueLayout.JAVA_SHORT, base + USERNAME_LENGTH))
+                + Short.toUnsignedInt(slots.get(ValueLayout.JAVA_SHORT, base + EMAIL_LENGTH));
+    }
+
+    private static int hash(String username) {
+        int h = username.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
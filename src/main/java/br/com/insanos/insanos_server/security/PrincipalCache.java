@@ -0,0 +1,193 @@
+package br.com.insanos.insanos_server.security;
+
+import br.com.insanos.insanos_server.concurrency.BoundedMaps;
+import br.com.insanos.insanos_server.concurrency.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache local de principals usado pelo filtro JWT, evitando o SELECT de usuário + roles a cada
+ * requisição autenticada.
+ *
+ * A consistência entre instâncias vem do {@link br.com.insanos.insanos_server.cluster.ClusterInvalidationBus}:
+ * toda alteração de usuário ou revogação de token remove a entrada em todos os nós. O TTL
+ * ({@code insanos.principal-cache.ttl}) só limita o tempo de uma entrada obsoleta se uma
+ * mensagem de invalidação se perder.
+ *
+ * Misses concorrentes do mesmo usuário (token popular logo depois de um evict, por exemplo)
+ * dividem uma única carga no banco via {@link SingleFlight}; quem espera desiste depois de
+ * {@code insanos.principal-cache.load-timeout}.
+ *
+ * Com {@code insanos.principal-cache.off-heap.enabled} as entradas ficam num
+ * {@link OffHeapPrincipalStore} em vez do mapa: o heap só guarda os principals materializados
+ * durante cada requisição.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    // Espaço de strings (username + email em UTF-8) reservado por entrada no modo off-heap
+    static final int OFF_HEAP_STRING_BYTES_PER_ENTRY = 64;
+
+    private record Entry(UserDetailsImpl principal, long expiresAtNanos) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Incrementado a cada invalidação; um load que atravessou uma invalidação não é guardado
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final SingleFlight<String, UserDetailsImpl> loads = new SingleFlight<>();
+
+    @Value("${insanos.principal-cache.ttl:PT5M}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${insanos.principal-cache.max-size:100000}")
+    private int maxSize = 100_000;
+
+    @Value("${insanos.principal-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${insanos.principal-cache.load-timeout:PT5S}")
+    private Duration loadTimeout = Duration.ofSeconds(5);
+
+    @Value("${insanos.principal-cache.off-heap.enabled:false}")
+    private boolean offHeap;
+
+    private OffHeapPrincipalStore offHeapStore;
+
+    @PostConstruct
+    void init() {
+        if (enabled && offHeap) {
+            offHeapStore = new OffHeapPrincipalStore(maxSize, (long) maxSize * OFF_HEAP_STRING_BYTES_PER_ENTRY);
+            logger.info("🧠 Cache de principals fora do heap - Capacidade: {}, Memória reservada: {} MB",
+                maxSize, offHeapStore.getReservedBytes() / (1024 * 1024));
+        }
+    }
+
+    // A memória nativa do modo off-heap não é recolhida pelo GC
+    @PreDestroy
+    void close() {
+        if (offHeapStore != null) {
+            offHeapStore.close();
+        }
+    }
+
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        if (!enabled) {
+            return loads.execute(username, loader, loadTimeout);
+        }
+        if (offHeapStore != null) {
+            return getOffHeap(username, loader);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAtNanos() - now > 0) {
+            hits.increment();
+            return entry.principal();
+        }
+
+        misses.increment();
+        long generation = invalidations.get();
+        UserDetailsImpl principal = loads.execute(username, loader, loadTimeout);
+        if (entries.size() >= maxSize) {
+            trim(now);
+        }
+        entries.put(username, new Entry(principal, now + ttl.toNanos()));
+        // A invalidação pode ter chegado entre a leitura no banco e o put: descarta o valor
+        if (invalidations.get() != generation) {
+            entries.remove(username);
+        }
+        return principal;
+    }
+
+    private UserDetailsImpl getOffHeap(String username, Function<String, UserDetailsImpl> loader) {
+        long now = System.nanoTime();
+        UserDetailsImpl cached = offHeapStore.get(username, now);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long generation = invalidations.get();
+        UserDetailsImpl principal = loads.execute(username, loader, loadTimeout);
+        if (offHeapStore.size() >= maxSize) {
+            offHeapStore.trim(now, maxSize - maxSize / 10);
+        }
+        // Se não couber (roles demais, arena cheia) a próxima requisição carrega de novo
+        offHeapStore.put(principal, now + ttl.toNanos());
+        if (invalidations.get() != generation) {
+            offHeapStore.remove(username);
+        }
+        return principal;
+    }
+
+    // Cargas em andamento também são esquecidas: quem chegar depois da invalidação lê de novo
+    public void evict(String username) {
+        invalidations.incrementAndGet();
+        loads.forget(username);
+        entries.remove(username);
+        if (offHeapStore != null) {
+            offHeapStore.remove(username);
+        }
+    }
+
+    public void evictAll(Collection<String> usernames) {
+        invalidations.incrementAndGet();
+        usernames.forEach(username -> {
+            loads.forget(username);
+            entries.remove(username);
+            if (offHeapStore != null) {
+                offHeapStore.remove(username);
+            }
+        });
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        loads.forgetAll();
+        entries.clear();
+        if (offHeapStore != null) {
+            offHeapStore.clear();
+        }
+    }
+
+    public int size() {
+        return offHeapStore != null ? offHeapStore.size() : entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Misses que aproveitaram a carga em andamento de outra requisição
+    public long getCoalescedLoads() {
+        return loads.getSharedCount();
+    }
+
+    private void trim(long now) {
+        BoundedMaps.makeRoom(entries, maxSize, entry -> entry.expiresAtNanos() - now <= 0);
+    }
+}
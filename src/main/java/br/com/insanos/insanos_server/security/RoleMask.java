@@ -0,0 +1,80 @@
+package br.com.insanos.insanos_server.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Representa o conjunto de roles de um usuário como um bitmask em um long.
+ *
+ * Cada nome de role ganha um bit na primeira vez em que aparece. A lista de authorities de cada
+ * máscara é montada uma vez e compartilhada (imutável) por todos os principals com as mesmas roles,
+ * então materializar um principal não aloca authorities.
+ */
+public class RoleMask {
+
+    // O bit de sinal fica de fora para que nenhuma máscara válida seja igual a UNREPRESENTABLE
+    public static final int MAX_ROLES = Long.SIZE - 1;
+
+    // Devolvido quando as roles não cabem na máscara (mais de MAX_ROLES nomes distintos)
+    public static final long UNREPRESENTABLE = -1L;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private final String[] names = new String[MAX_ROLES];
+    private final Map<Long, List<GrantedAuthority>> authoritiesByMask = new ConcurrentHashMap<>();
+
+    public long toMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            int bit = bitOf(authority.getAuthority());
+            if (bit < 0) {
+                return UNREPRESENTABLE;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    // Só recebe máscaras devolvidas por toMask
+    public List<GrantedAuthority> authorities(long mask) {
+        return authoritiesByMask.computeIfAbsent(mask, this::buildAuthorities);
+    }
+
+    public int size() {
+        return bits.size();
+    }
+
+    private int bitOf(String role) {
+        Integer bit = bits.get(role);
+        if (bit != null) {
+            return bit;
+        }
+        synchronized (names) {
+            bit = bits.get(role);
+            if (bit != null) {
+                return bit;
+            }
+            int next = bits.size();
+            if (next == MAX_ROLES) {
+                return -1;
+            }
+            // O nome é publicado antes do bit: quem vê o bit no mapa já enxerga o nome
+            names[next] = role;
+            bits.put(role, next);
+            return next;
+        }
+    }
+
+    private List<GrantedAuthority> buildAuthorities(long mask) {
+        List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            authorities.add(new SimpleGrantedAuthority(names[Long.numberOfTrailingZeros(remaining)]));
+        }
+        return List.copyOf(authorities);
+    }
+}
@@ -27,6 +27,13 @@ public class UserDetailsImpl implements UserDetails {
 
     private boolean enabled;
 
+    private long tokenVersion;
+
+    public UserDetailsImpl(Long id, String username, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities, boolean enabled) {
+        this(id, username, email, password, authorities, enabled, 0L);
+    }
+
     public static UserDetailsImpl build(User user) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority(role))
@@ -38,7 +45,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 authorities,
-                user.isEnabled()
+                user.isEnabled(),
+                user.getTokenVersion()
         );
     }
 
@@ -1,5 +1,6 @@
 package br.com.insanos.insanos_server.security;
 
+import br.com.insanos.insanos_server.datasource.ReadAfterWriteGuard;
 import br.com.insanos.insanos_server.model.User;
 import br.com.insanos.insanos_server.repository.UserRepository;
 import org.slf4j.Logger;
@@ -19,9 +20,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReadAfterWriteGuard readAfterWriteGuard;
+
+    // Somente leitura: com réplica configurada vai para ela, salvo se o usuário mudou há pouco
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return readAfterWriteGuard.readOnPrimaryIfRecentlyWritten(username, () -> loadUser(username));
+    }
+
+    private UserDetails loadUser(String username) {
         logger.debug("👤 Carregando UserDetails para: {}", username);
 
         User user = userRepository.findByUsername(username)
@@ -30,7 +39,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     return new UsernameNotFoundException("Usuário não encontrado: " + username);
                 });
 
-        logger.info("✅ UserDetails carregado com sucesso - Username: {}, ID: {}, Roles: {}",
+        logger.debug("✅ UserDetails carregado com sucesso - Username: {}, ID: {}, Roles: {}",
             user.getUsername(),
             user.getId(),
             user.getRoles());
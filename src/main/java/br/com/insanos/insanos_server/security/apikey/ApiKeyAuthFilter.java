@@ -0,0 +1,139 @@
+package br.com.insanos.insanos_server.security.apikey;
+
+import br.com.insanos.insanos_server.activity.UserActivityTracker;
+import br.com.insanos.insanos_server.audit.AuditEventType;
+import br.com.insanos.insanos_server.audit.AuditLog;
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Autenticação por chave de API ({@code X-API-Key}), para serviços e jobs que hoje fazem login
+ * como usuário. Roda depois do {@code AuthTokenFilter} e só age se a requisição ainda não estiver
+ * autenticada.
+ *
+ * O principal é o do dono da chave (via {@link PrincipalCache}), com as authorities reduzidas às
+ * roles da chave que o dono ainda tem. Dono desativado ou removido invalida a chave, e o dono é
+ * conferido pelo id: outro usuário registrado depois com o mesmo username não herda a chave.
+ */
+public class ApiKeyAuthFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyAuthFilter.class);
+
+    @Autowired
+    private ApiKeyIndex apiKeyIndex;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private UserActivityTracker activityTracker;
+
+    @Value("${insanos.api-key.enabled:true}")
+    private boolean enabled = true;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getHeader(API_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                authenticate(request);
+            } catch (Exception e) {
+                logger.error("❌ Erro no filtro de chave de API - Path: {}, Erro: {}", request.getRequestURI(), e.getMessage());
+                logger.debug("Stack trace do erro no filtro de chave de API:", e);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
+        ApiKeyCodec.Parsed parsed = ApiKeyCodec.parse(request.getHeader(API_KEY_HEADER));
+        if (parsed == null) {
+            reject(request, null, "malformed");
+            return;
+        }
+
+        Optional<ApiKeyIndex.Key> found = apiKeyIndex.find(parsed.prefix());
+        if (found.isEmpty() || !ApiKeyCodec.matches(parsed.secret(), found.get().secretHash())) {
+            reject(request, null, "unknown:" + parsed.prefix());
+            return;
+        }
+        ApiKeyIndex.Key key = found.get();
+        if (key.isExpired(LocalDateTime.now())) {
+            reject(request, key.username(), "expired:" + parsed.prefix());
+            return;
+        }
+
+        UserDetailsImpl owner;
+        try {
+            owner = principalCache.get(key.username(),
+                name -> (UserDetailsImpl) userDetailsService.loadUserByUsername(name));
+        } catch (UsernameNotFoundException e) {
+            reject(request, key.username(), "owner-missing:" + parsed.prefix());
+            return;
+        }
+        if (!owner.getId().equals(key.userId())) {
+            reject(request, key.username(), "owner-mismatch:" + parsed.prefix());
+            return;
+        }
+        if (!owner.isEnabled()) {
+            reject(request, key.username(), "disabled:" + parsed.prefix());
+            return;
+        }
+
+        List<GrantedAuthority> authorities = owner.getAuthorities().stream()
+                .filter(authority -> key.roles().contains(authority.getAuthority()))
+                .map(GrantedAuthority.class::cast)
+                .toList();
+        UserDetailsImpl principal = new UserDetailsImpl(owner.getId(), owner.getUsername(), owner.getEmail(), null,
+                authorities, true, owner.getTokenVersion());
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        activityTracker.recordSeen(owner.getUsername());
+
+        logger.debug("🔑 Autenticado via chave de API - Username: {}, Chave: {}, Roles: {}",
+            owner.getUsername(), parsed.prefix(), key.roles());
+    }
+
+    private void reject(HttpServletRequest request, String username, String detail) {
+        logger.debug("⚠️ Chave de API rejeitada - Motivo: {}, Path: {}", detail, request.getRequestURI());
+        auditLog.record(AuditEventType.API_KEY_REJECTED, username, request.getRemoteAddr(), detail);
+    }
+}
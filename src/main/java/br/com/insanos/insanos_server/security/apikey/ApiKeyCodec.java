@@ -0,0 +1,78 @@
+package br.com.insanos.insanos_server.security.apikey;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Formato das chaves de API: {@code ik_<prefixo>_<segredo>}.
+ *
+ * O prefixo (12 caracteres hexadecimais) é público e identifica a chave no banco; o segredo
+ * (32 bytes aleatórios em base64url) só é guardado como SHA-256. O segredo tem entropia
+ * suficiente para dispensar um hash lento como o BCrypt: verificar custa um SHA-256.
+ */
+public final class ApiKeyCodec {
+
+    public static final String KEY_PREFIX = "ik_";
+    public static final int PREFIX_LENGTH = 12;
+
+    private static final int SECRET_BYTES = 32;
+    private static final int SECRET_OFFSET = KEY_PREFIX.length() + PREFIX_LENGTH + 1;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    public record Generated(String key, String prefix, String secretHash) {
+    }
+
+    public record Parsed(String prefix, String secret) {
+    }
+
+    private ApiKeyCodec() {
+    }
+
+    public static Generated generate() {
+        byte[] prefixBytes = new byte[PREFIX_LENGTH / 2];
+        byte[] secretBytes = new byte[SECRET_BYTES];
+        random.nextBytes(prefixBytes);
+        random.nextBytes(secretBytes);
+
+        String prefix = HexFormat.of().formatHex(prefixBytes);
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+        return new Generated(KEY_PREFIX + prefix + "_" + secret, prefix, hash(secret));
+    }
+
+    // null quando o valor não tem o formato de uma chave
+    public static Parsed parse(String key) {
+        if (key == null || key.length() <= SECRET_OFFSET || !key.startsWith(KEY_PREFIX)
+                || key.charAt(SECRET_OFFSET - 1) != '_') {
+            return null;
+        }
+        String prefix = key.substring(KEY_PREFIX.length(), SECRET_OFFSET - 1);
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.digit(prefix.charAt(i), 16) < 0) {
+                return null;
+            }
+        }
+        return new Parsed(prefix, key.substring(SECRET_OFFSET));
+    }
+
+    public static String hash(String secret) {
+        return HexFormat.of().formatHex(sha256(secret));
+    }
+
+    // Comparação em tempo constante, para não revelar quantos bytes do hash coincidem
+    public static boolean matches(String secret, byte[] expectedHash) {
+        return MessageDigest.isEqual(sha256(secret), expectedHash);
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
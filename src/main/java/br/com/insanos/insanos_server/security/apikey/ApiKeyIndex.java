@@ -0,0 +1,115 @@
+package br.com.insanos.insanos_server.security.apikey;
+
+import br.com.insanos.insanos_server.concurrency.BoundedMaps;
+import br.com.insanos.insanos_server.concurrency.SingleFlight;
+import br.com.insanos.insanos_server.model.ApiKey;
+import br.com.insanos.insanos_server.repository.ApiKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache das chaves de API por prefixo, para que a verificação de uma requisição não vá ao banco.
+ *
+ * Prefixos inexistentes e chaves revogadas também ficam em cache (como ausentes), então chaves
+ * inventadas não viram uma consulta cada. Revogações chegam às outras instâncias pelo
+ * {@code ClusterInvalidationBus}; se a mensagem se perder, valem lá em até
+ * {@code insanos.api-key.cache-ttl}.
+ *
+ * Misses concorrentes do mesmo prefixo dividem uma consulta; quem espera desiste depois de
+ * {@code insanos.api-key.load-timeout}.
+ */
+@Component
+public class ApiKeyIndex {
+
+    public record Key(Long id, Long userId, String username, byte[] secretHash, Set<String> roles, LocalDateTime expiresAt) {
+
+        public boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+    }
+
+    // key nulo = prefixo sem chave válida
+    private record Entry(Key key, long expiresAtNanos) {
+    }
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${insanos.api-key.cache-ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    @Value("${insanos.api-key.cache-max-size:10000}")
+    private int maxSize = 10_000;
+
+    @Value("${insanos.api-key.load-timeout:PT5S}")
+    private Duration loadTimeout = Duration.ofSeconds(5);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Incrementado a cada evict; um load que atravessou uma invalidação não é guardado
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Rajada de requisições de um job recém-iniciado: uma consulta por prefixo
+    private final SingleFlight<String, Optional<Key>> loads = new SingleFlight<>();
+
+    public Optional<Key> find(String prefix) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(prefix);
+        if (entry != null && entry.expiresAtNanos() - now > 0) {
+            return Optional.ofNullable(entry.key());
+        }
+
+        long generation = invalidations.get();
+        Optional<Key> key = loads.execute(prefix, this::load, loadTimeout);
+        if (entries.size() >= maxSize) {
+            trim(now);
+        }
+        entries.put(prefix, new Entry(key.orElse(null), now + ttl.toNanos()));
+        if (invalidations.get() != generation) {
+            entries.remove(prefix);
+        }
+        return key;
+    }
+
+    public void evict(String prefix) {
+        invalidations.incrementAndGet();
+        loads.forget(prefix);
+        entries.remove(prefix);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Transação de escrita: vai ao primário, uma réplica atrasada não conheceria uma chave recém-criada
+    private Optional<Key> load(String prefix) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                apiKeyRepository.findByPrefix(prefix)
+                        .filter(apiKey -> apiKey.getRevokedAt() == null)
+                        .map(ApiKeyIndex::toKey));
+    }
+
+    private static Key toKey(ApiKey apiKey) {
+        return new Key(apiKey.getId(), apiKey.getUserId(), apiKey.getUsername(), HexFormat.of().parseHex(apiKey.getSecretHash()),
+                Set.copyOf(apiKey.getRoles()), apiKey.getExpiresAt());
+    }
+
+    private void trim(long now) {
+        BoundedMaps.makeRoom(entries, maxSize, entry -> entry.expiresAtNanos() - now <= 0);
+    }
+}
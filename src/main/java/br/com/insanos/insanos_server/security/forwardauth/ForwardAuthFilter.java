@@ -0,0 +1,219 @@
+package br.com.insanos.insanos_server.security.forwardauth;
+
+import br.com.insanos.insanos_server.activity.UserActivityTracker;
+import br.com.insanos.insanos_server.audit.AuditEventType;
+import br.com.insanos.insanos_server.audit.AuditLog;
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import br.com.insanos.insanos_server.security.token.TokenService;
+import br.com.insanos.insanos_server.security.token.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Endpoint de forward-auth ({@code auth_request} do nginx, {@code ext_authz} do Envoy): responde
+ * 200 com a identidade em headers ou 401, sempre sem corpo.
+ *
+ * É um filtro terminal antes da cadeia do Spring Security: não passa por DispatcherServlet,
+ * controller nem Jackson. A verificação é a mesma do filtro de autenticação ({@link TokenService}
+ * + versão no {@link PrincipalCache}). O 200 leva {@code Cache-Control: max-age} e
+ * {@code Vary: Authorization} para o proxy guardar o resultado por token; logout e revogação valem
+ * no proxy em até {@code insanos.forward-auth.cache-ttl}.
+ *
+ * Desligado por padrão ({@code insanos.forward-auth.enabled}): ligado, responde a qualquer token
+ * sem rate limit, então só aceita requisições dos endereços em
+ * {@code insanos.forward-auth.allowed-addresses} (padrão: loopback; os demais recebem 403). Falha
+ * ao carregar o usuário (banco fora, espera do single-flight esgotada) vira 503, também sem corpo,
+ * para o proxy não confundir com token inválido.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ForwardAuthFilter extends OncePerRequestFilter {
+
+    public static final String VERIFY_PATH = "/internal/auth/verify";
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    private static final Logger logger = LoggerFactory.getLogger(ForwardAuthFilter.class);
+
+    private final RateLimitedLogger errorLogger = new RateLimitedLogger(logger, 20, Duration.ofMinutes(1));
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private UserActivityTracker activityTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.forward-auth.enabled:false}")
+    private boolean enabled;
+
+    // Endereços remotos (IP exato) aceitos; vazio aceita qualquer um
+    @Value("${insanos.forward-auth.allowed-addresses:127.0.0.1,0:0:0:0:0:0:0:1}")
+    private String[] allowedAddresses = {"127.0.0.1", "0:0:0:0:0:0:0:1"};
+
+    // Zero: o proxy não guarda o resultado
+    @Value("${insanos.forward-auth.cache-ttl:PT5S}")
+    private Duration cacheTtl = Duration.ofSeconds(5);
+
+    private String allowedCacheControl;
+    private Set<String> allowedRemotes;
+    private Counter allowed;
+    private Counter denied;
+    private Counter forbidden;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        allowedCacheControl = cacheTtl.isZero() ? "no-store" : "max-age=" + cacheTtl.toSeconds();
+        allowedRemotes = Arrays.stream(allowedAddresses).map(String::trim).filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        allowed = Counter.builder("auth.forward.requests")
+                .description("Verificações de forward-auth")
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        denied = Counter.builder("auth.forward.requests")
+                .description("Verificações de forward-auth")
+                .tag("outcome", "denied")
+                .register(meterRegistry);
+        forbidden = Counter.builder("auth.forward.requests")
+                .description("Verificações de forward-auth")
+                .tag("outcome", "forbidden")
+                .register(meterRegistry);
+        failed = Counter.builder("auth.forward.requests")
+                .description("Verificações de forward-auth")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+
+        if (enabled) {
+            logger.info("🚪 Forward-auth ativo em {} - Cache no proxy: {}, Endereços aceitos: {}", VERIFY_PATH,
+                allowedCacheControl, allowedRemotes.isEmpty() ? "qualquer um" : allowedRemotes);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !VERIFY_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        response.setContentLength(0);
+        if (!allowedRemotes.isEmpty() && !allowedRemotes.contains(request.getRemoteAddr())) {
+            forbidden.increment();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        UserDetailsImpl principal;
+        try {
+            principal = authenticate(request);
+        } catch (RuntimeException e) {
+            // Não é resposta sobre o token: o proxy não deve guardar nem tratar como 401
+            failed.increment();
+            errorLogger.error("❌ Forward-auth indisponível: {}", e.getMessage());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        if (principal == null) {
+            denied.increment();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        allowed.increment();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, allowedCacheControl);
+        response.setHeader(USER_ID_HEADER, String.valueOf(principal.getId()));
+        response.setHeader(USER_NAME_HEADER, principal.getUsername());
+        response.setHeader(USER_ROLES_HEADER, roles(principal));
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    // Principal autenticado pelo token do header Authorization, ou null. Erros de carga (banco,
+    // SingleFlight.WaitTimeoutException) propagam para virar 503
+    private UserDetailsImpl authenticate(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+
+        VerifiedToken token = tokenService.verify(header.substring(7));
+        if (token == null) {
+            auditLog.record(AuditEventType.TOKEN_REJECTED, null, request.getRemoteAddr(), "invalid");
+            return null;
+        }
+
+        UserDetailsImpl principal;
+        try {
+            principal = principalCache.get(token.username(),
+                name -> (UserDetailsImpl) userDetailsService.loadUserByUsername(name));
+        } catch (UsernameNotFoundException e) {
+            auditLog.record(AuditEventType.TOKEN_REJECTED, token.username(), request.getRemoteAddr(), "not-found");
+            return null;
+        }
+
+        if (!principal.isEnabled() || token.tokenVersion() != principal.getTokenVersion()) {
+            auditLog.record(AuditEventType.TOKEN_REJECTED, token.username(), request.getRemoteAddr(),
+                principal.isEnabled() ? "revoked" : "disabled");
+            return null;
+        }
+
+        activityTracker.recordSeen(principal.getUsername());
+        return principal;
+    }
+
+    private static String roles(UserDetailsImpl principal) {
+        StringBuilder roles = new StringBuilder();
+        for (GrantedAuthority authority : principal.getAuthorities()) {
+            if (!roles.isEmpty()) {
+                roles.append(',');
+            }
+            roles.append(authority.getAuthority());
+        }
+        return roles.toString();
+    }
+}
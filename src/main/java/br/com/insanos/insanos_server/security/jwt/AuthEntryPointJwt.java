@@ -1,5 +1,6 @@
 package br.com.insanos.insanos_server.security.jwt;
 
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,10 +22,12 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthEntryPointJwt.class);
 
+    private final RateLimitedLogger unauthorizedLogger = new RateLimitedLogger(logger, 20, Duration.ofMinutes(1));
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
-        logger.error("Erro de autenticação não autorizada: {}", authException.getMessage());
+        unauthorizedLogger.error("Erro de autenticação não autorizada: {}", authException.getMessage());
 
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
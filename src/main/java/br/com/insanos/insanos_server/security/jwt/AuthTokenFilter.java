@@ -1,6 +1,14 @@
 package br.com.insanos.insanos_server.security.jwt;
 
+import br.com.insanos.insanos_server.activity.UserActivityTracker;
+import br.com.insanos.insanos_server.audit.AuditEventType;
+import br.com.insanos.insanos_server.audit.AuditLog;
+import br.com.insanos.insanos_server.monitoring.jfr.AuthStageEvent;
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
 import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import br.com.insanos.insanos_server.security.token.TokenService;
+import br.com.insanos.insanos_server.security.token.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +18,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,12 +26,24 @@ import java.io.IOException;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
+    // Token já verificado por um filtro anterior (rate limit por subject) nesta requisição
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = AuthTokenFilter.class.getName() + ".token";
+
     @Autowired
-    private JwtUtils jwtUtils;
+    private TokenService tokenService;
 
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private UserActivityTracker activityTracker;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -35,27 +54,44 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("🔒 Filtro JWT ativado para: {} {}", request.getMethod(), requestPath);
 
         try {
+            AuthStageEvent parseEvent = AuthStageEvent.start(AuthStageEvent.FLOW_FILTER, AuthStageEvent.STAGE_TOKEN_PARSE);
             String jwt = parseJwt(request);
+            parseEvent.finish(jwt != null ? AuthStageEvent.OUTCOME_SUCCESS : AuthStageEvent.OUTCOME_ABSENT);
 
             if (jwt != null) {
                 logger.debug("Token JWT encontrado na requisição");
 
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    logger.debug("Token JWT válido, extraindo username");
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
+                VerifiedToken token = request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE) instanceof VerifiedToken verified
+                        ? verified
+                        : verify(jwt);
 
+                if (token != null) {
+                    String username = token.username();
                     logger.debug("Carregando UserDetails para: {}", username);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetailsImpl userDetails = loadPrincipal(username);
+
+                    // Logout/revogação incrementam a versão no banco; desativação vale na hora
+                    if (!userDetails.isEnabled() || token.tokenVersion() != userDetails.getTokenVersion()) {
+                        logger.debug("⚠️ Token revogado ou usuário desativado - Username: {}, Path: {}",
+                            username, requestPath);
+                        auditLog.record(AuditEventType.TOKEN_REJECTED, username, request.getRemoteAddr(),
+                            userDetails.isEnabled() ? "revoked" : "disabled");
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("✅ Usuário autenticado via JWT - Username: {}, Path: {}",
+                    activityTracker.recordSeen(username);
+                    logger.debug("✅ Usuário autenticado via JWT - Username: {}, Path: {}",
                         username, requestPath);
                 } else {
-                    logger.warn("⚠️ Token JWT inválido para path: {}", requestPath);
+                    // No modo JWT o motivo já é registrado (com limite de taxa) em JwtUtils
+                    logger.debug("⚠️ Token JWT inválido para path: {}", requestPath);
+                    auditLog.record(AuditEventType.TOKEN_REJECTED, null, request.getRemoteAddr(), "invalid");
                 }
             } else {
                 logger.debug("Nenhum token JWT encontrado na requisição para: {}", requestPath);
@@ -68,12 +104,38 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private VerifiedToken verify(String jwt) {
+        AuthStageEvent event = AuthStageEvent.start(AuthStageEvent.FLOW_FILTER, AuthStageEvent.STAGE_TOKEN_VERIFY);
+        VerifiedToken token = null;
+        try {
+            token = tokenService.verify(jwt);
+            return token;
+        } finally {
+            event.finish(token != null);
+        }
+    }
+
+    private UserDetailsImpl loadPrincipal(String username) {
+        AuthStageEvent event = AuthStageEvent.start(AuthStageEvent.FLOW_FILTER, AuthStageEvent.STAGE_PRINCIPAL_LOAD);
+        boolean loaded = false;
+        try {
+            UserDetailsImpl userDetails = principalCache.get(username,
+                name -> (UserDetailsImpl) userDetailsService.loadUserByUsername(name));
+            loaded = true;
+            return userDetails;
+        } finally {
+            event.finish(loaded);
+        }
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
         if (StringUtils.hasText(headerAuth)) {
-            logger.debug("Header Authorization encontrado: {}",
-                headerAuth.length() > 20 ? headerAuth.substring(0, 20) + "..." : headerAuth);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Header Authorization encontrado: {}",
+                    headerAuth.length() > 20 ? headerAuth.substring(0, 20) + "..." : headerAuth);
+            }
 
             if (headerAuth.startsWith("Bearer ")) {
                 String token = headerAuth.substring(7);
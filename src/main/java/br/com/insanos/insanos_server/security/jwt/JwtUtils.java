@@ -1,37 +1,135 @@
 package br.com.insanos.insanos_server.security.jwt;
 
+import br.com.insanos.insanos_server.concurrency.BoundedMaps;
+import br.com.insanos.insanos_server.logging.RateLimitedLogger;
 import br.com.insanos.insanos_server.security.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Clientes quebrados reenviam o mesmo token inválido em loop; limita o ERROR por minuto
+    private final RateLimitedLogger invalidTokenLogger = new RateLimitedLogger(logger, 20, Duration.ofMinutes(1));
+
+    // Versão dos tokens do usuário no momento da emissão (User.tokenVersion)
+    public static final String VERSION_CLAIM = "ver";
+
+    public static final String PROFILE_STANDARD = "standard";
+    public static final String PROFILE_COMPACT = "compact";
+
+    // Todo JWS começa com o header em base64url: '{"' vira "eyJ"
+    private static final String HEADER_PREFIX = "eyJ";
+    private static final int MIN_TOKEN_LENGTH = 16;
+
+    // Primeiros 128 bits do SHA-256 do token
+    private record Digest(long high, long low) {
+    }
+
+    // MessageDigest não é thread-safe; um por thread evita o getInstance (busca nos providers) a cada token
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    });
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    // compact: sem iat, ver só quando > 0 e assinatura HS256 (32 bytes); standard: formato anterior
+    @Value("${jwt.claims-profile:compact}")
+    private String claimsProfile = PROFILE_COMPACT;
+
+    // Acima disso o token é recusado antes do parse (o header Authorization inteiro vai para a memória)
+    @Value("${jwt.max-token-length:4096}")
+    private int maxTokenLength = 4096;
+
+    // Tokens recusados ficam lembrados por este tempo; zero desliga o negative cache
+    @Value("${jwt.negative-cache.ttl:PT1M}")
+    private Duration negativeCacheTtl = Duration.ofMinutes(1);
+
+    @Value("${jwt.negative-cache.max-size:10000}")
+    private int negativeCacheMaxSize = 10_000;
+
+    // Digest -> até quando (nanoTime) o token é recusado sem parse
+    private final Map<Digest, Long> rejectedTokens = new ConcurrentHashMap<>();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final LongAdder malformedRejections = new LongAdder();
+
+    // Chave e parser são imutáveis: montados uma vez em vez de a cada requisição
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("auth.token.rejected.fast", malformedRejections, LongAdder::sum)
+                .description("Tokens recusados sem parse")
+                .tag("reason", "malformed")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.rejected.fast", negativeCacheHits, LongAdder::sum)
+                .description("Tokens recusados sem parse")
+                .tag("reason", "cached")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.negative-cache.size", rejectedTokens, Map::size)
+                .description("Tokens inválidos lembrados pelo negative cache")
+                .register(meterRegistry);
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = current;
+        }
+        return current;
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
         logger.debug("🔑 Gerando JWT token para usuário: {}", userPrincipal.getUsername());
 
         Date issuedAt = new Date();
@@ -39,12 +137,21 @@ public class JwtUtils {
 
         logger.debug("Token será válido de {} até {}", issuedAt, expiresAt);
 
-        String token = Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userPrincipal.getUsername())
-                .issuedAt(issuedAt)
-                .expiration(expiresAt)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiresAt);
+        if (PROFILE_COMPACT.equals(claimsProfile)) {
+            // Versão ausente é lida como 0 (getTokenVersion); HS256 já é seguro com a chave exigida
+            if (userPrincipal.getTokenVersion() != 0) {
+                builder.claim(VERSION_CLAIM, userPrincipal.getTokenVersion());
+            }
+            builder.signWith(getSigningKey(), Jwts.SIG.HS256);
+        } else {
+            builder.claim(VERSION_CLAIM, userPrincipal.getTokenVersion())
+                    .issuedAt(issuedAt)
+                    .signWith(getSigningKey());
+        }
+        String token = builder.compact();
 
         logger.info("✅ JWT token gerado com sucesso para: {} (expira em {})",
             userPrincipal.getUsername(), expiresAt);
@@ -56,9 +163,7 @@ public class JwtUtils {
         logger.debug("🔍 Extraindo username do JWT token");
 
         try {
-            String username = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            String username = getParser()
                     .parseSignedClaims(token)
                     .getPayload()
                     .getSubject();
@@ -72,24 +177,111 @@ public class JwtUtils {
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    /**
+     * Valida o token e devolve os claims numa única passada (assinatura + parse), ou null se
+     * o token for inválido. Usado pelo filtro, que precisa do subject e da versão. Aceita os dois
+     * perfis (a chave verifica HS256 e, se tiver 512 bits ou mais, os tokens HS512 anteriores).
+     *
+     * Lixo (fora do formato de um JWS) é recusado sem exceção nem alocação, e um token que já
+     * falhou é recusado pelo digest até {@code jwt.negative-cache.ttl} sem novo parse nem log.
+     * Assinatura inválida e expiração não mudam com o tempo, então lembrar a recusa é seguro.
+     */
+    public Claims parseValidClaims(String authToken) {
+        if (!isWellFormed(authToken)) {
+            malformedRejections.increment();
+            return null;
+        }
+
+        Digest digest = null;
+        if (!negativeCacheTtl.isZero()) {
+            digest = digest(authToken);
+            Long rejectedUntil = rejectedTokens.get(digest);
+            if (rejectedUntil != null && rejectedUntil - System.nanoTime() > 0) {
+                negativeCacheHits.increment();
+                return null;
+            }
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return getParser()
+                    .parseSignedClaims(authToken)
+                    .getPayload();
         } catch (SignatureException e) {
-            logger.error("Assinatura JWT inválida: {}", e.getMessage());
+            invalidTokenLogger.error("Assinatura JWT inválida: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Token JWT inválido: {}", e.getMessage());
+            invalidTokenLogger.error("Token JWT inválido: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("Token JWT expirado: {}", e.getMessage());
+            invalidTokenLogger.error("Token JWT expirado: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("Token JWT não suportado: {}", e.getMessage());
+            invalidTokenLogger.error("Token JWT não suportado: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string vazio: {}", e.getMessage());
+            invalidTokenLogger.error("JWT claims string vazio: {}", e.getMessage());
         }
-        return false;
+
+        if (digest != null) {
+            rememberRejected(digest);
+        }
+        return null;
+    }
+
+    public long getNegativeCacheHits() {
+        return negativeCacheHits.sum();
+    }
+
+    public long getMalformedRejections() {
+        return malformedRejections.sum();
+    }
+
+    public int getNegativeCacheSize() {
+        return rejectedTokens.size();
     }
-}
 
+    // header.payload.assinatura em base64url, header começando com "eyJ" e assinatura não vazia
+    private boolean isWellFormed(String token) {
+        if (token == null || token.length() < MIN_TOKEN_LENGTH || token.length() > maxTokenLength
+                || !token.startsWith(HEADER_PREFIX)) {
+            return false;
+        }
+        int dots = 0;
+        int lastDot = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (++dots > 2) {
+                    return false;
+                }
+                lastDot = i;
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+        }
+        return dots == 2 && lastDot < token.length() - 1;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    private static Digest digest(String token) {
+        // O token já passou por isWellFormed: só ASCII. digest() também reinicia o MessageDigest
+        ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Digest(hash.getLong(), hash.getLong());
+    }
+
+    private void rememberRejected(Digest digest) {
+        long now = System.nanoTime();
+        if (rejectedTokens.size() >= negativeCacheMaxSize) {
+            BoundedMaps.makeRoom(rejectedTokens, negativeCacheMaxSize, rejectedUntil -> rejectedUntil - now <= 0);
+        }
+        rejectedTokens.put(digest, now + negativeCacheTtl.toNanos());
+    }
+
+    // Tokens emitidos antes do claim existir valem como versão 0
+    public static long getTokenVersion(Claims claims) {
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+}
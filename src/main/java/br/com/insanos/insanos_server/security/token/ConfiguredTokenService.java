@@ -0,0 +1,67 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * O {@link TokenService} injetado no resto da aplicação: repassa ao modo escolhido em
+ * {@code insanos.token.mode}.
+ *
+ * A escolha é feita no startup, não com {@code @ConditionalOnProperty}: no build AOT/nativo as
+ * condições são avaliadas uma vez, na compilação, e o modo ficaria fixo no binário. As duas
+ * implementações são beans {@code @Lazy}, então só a escolhida é criada (sem mapa de sessões nem
+ * thread de manutenção no modo JWT).
+ */
+@Component
+@Primary
+public class ConfiguredTokenService implements TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfiguredTokenService.class);
+
+    @Autowired
+    private ObjectProvider<JwtTokenService> jwtTokenService;
+
+    @Autowired
+    private ObjectProvider<SessionTokenService> sessionTokenService;
+
+    @Value("${insanos.token.mode:jwt}")
+    private String mode = "jwt";
+
+    private TokenService delegate;
+
+    @PostConstruct
+    void init() {
+        delegate = switch (mode) {
+            case "jwt" -> jwtTokenService.getObject();
+            case "session" -> sessionTokenService.getObject();
+            default -> throw new IllegalStateException("insanos.token.mode inválido: " + mode + " (use jwt ou session)");
+        };
+        logger.info("🎫 Modo de token: {}", mode);
+    }
+
+    @Override
+    public String issue(UserDetailsImpl principal) {
+        return delegate.issue(principal);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        return delegate.verify(token);
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        delegate.revokeAll(username);
+    }
+
+    TokenService getDelegate() {
+        return delegate;
+    }
+}
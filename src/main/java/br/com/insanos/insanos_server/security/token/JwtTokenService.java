@@ -0,0 +1,33 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Tokens autocontidos: nada é guardado no servidor, qualquer instância verifica
+@Component
+@Lazy
+public class JwtTokenService implements TokenService {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Override
+    public String issue(UserDetailsImpl principal) {
+        return jwtUtils.generateJwtToken(principal);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        Claims claims = jwtUtils.parseValidClaims(token);
+        return claims != null ? new VerifiedToken(claims.getSubject(), JwtUtils.getTokenVersion(claims)) : null;
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        // Nada a fazer: tokens com a versão antiga já são recusados pelo filtro
+    }
+}
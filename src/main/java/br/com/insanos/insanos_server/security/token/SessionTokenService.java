@@ -0,0 +1,314 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.concurrency.BoundedMaps;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens opacos: 32 bytes aleatórios que apontam para uma sessão guardada em memória.
+ *
+ * Verificar é uma busca no mapa, sem HMAC nem parse de JSON, e o logout remove as sessões do
+ * usuário na hora. A sessão expira depois de {@code insanos.session.idle-timeout} sem uso
+ * (expiração deslizante) ou de {@code insanos.session.max-lifetime} desde o login.
+ *
+ * As sessões só existem na instância que fez o login: com mais de uma instância, use afinidade
+ * de sessão no balanceador ou o modo JWT. Com {@code insanos.session.snapshot.path} as sessões são
+ * gravadas periodicamente e no shutdown, e recarregadas no startup. O arquivo contém tokens
+ * válidos: é criado só com permissão do dono e deve ficar fora de backups e diretórios públicos.
+ */
+@Component
+@Lazy
+public class SessionTokenService implements TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+
+    public static final String TOKEN_PREFIX = "st_";
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int SNAPSHOT_MAGIC = 0x53455331;
+
+    // lastAccess só é regravado se mudou mais que isso: evita uma escrita por requisição
+    private static final long ACCESS_RESOLUTION_MILLIS = 1000;
+
+    static final class Session {
+
+        final String username;
+        final long tokenVersion;
+        final long createdAtMillis;
+        volatile long lastAccessMillis;
+
+        Session(String username, long tokenVersion, long createdAtMillis, long lastAccessMillis) {
+            this.username = username;
+            this.tokenVersion = tokenVersion;
+            this.createdAtMillis = createdAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insanos.session.idle-timeout:PT30M}")
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    @Value("${insanos.session.max-lifetime:P1D}")
+    private Duration maxLifetime = Duration.ofDays(1);
+
+    @Value("${insanos.session.max-sessions:1000000}")
+    private int maxSessions = 1_000_000;
+
+    @Value("${insanos.session.cleanup-interval:PT1M}")
+    private Duration cleanupInterval = Duration.ofMinutes(1);
+
+    // Vazio: sem snapshot
+    @Value("${insanos.session.snapshot.path:}")
+    private String snapshotPath = "";
+
+    @Value("${insanos.session.snapshot.interval:PT1M}")
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    private ScheduledExecutorService maintenance;
+
+    @PostConstruct
+    void start() {
+        if (!snapshotPath.isEmpty()) {
+            restore();
+        }
+
+        Gauge.builder("auth.sessions.active", sessions, Map::size)
+                .description("Sessões em memória (modo de token session)")
+                .register(meterRegistry);
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::removeExpiredSafely,
+                cleanupInterval.toMillis(), cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (!snapshotPath.isEmpty()) {
+            maintenance.scheduleWithFixedDelay(this::snapshotSafely,
+                    snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        logger.info("🎫 Tokens de sessão ativos - Ociosidade: {}, Vida máxima: {}, Snapshot: {}",
+            idleTimeout, maxLifetime, snapshotPath.isEmpty() ? "desativado" : snapshotPath);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        if (!snapshotPath.isEmpty()) {
+            snapshotSafely();
+        }
+    }
+
+    @Override
+    public String issue(UserDetailsImpl principal) {
+        long now = System.currentTimeMillis();
+        if (sessions.size() >= maxSessions) {
+            makeRoom(now);
+        }
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        add(token, new Session(principal.getUsername(), principal.getTokenVersion(), now, now));
+        logger.debug("🎫 Sessão criada - Username: {}", principal.getUsername());
+        return token;
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            remove(token, session);
+            return null;
+        }
+        if (now - session.lastAccessMillis > ACCESS_RESOLUTION_MILLIS) {
+            session.lastAccessMillis = now;
+        }
+        return new VerifiedToken(session.username, session.tokenVersion);
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        Set<String> tokens = tokensByUser.remove(username);
+        if (tokens != null) {
+            tokens.forEach(sessions::remove);
+            logger.debug("🎫 Sessões removidas - Username: {}, Quantidade: {}", username, tokens.size());
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Remove as sessões expiradas; também usado pelos testes
+    int removeExpired(long nowMillis) {
+        int removed = 0;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (isExpired(entry.getValue(), nowMillis) && remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Grava todas as sessões válidas (arquivo temporário + rename); também usado pelos testes
+    void snapshot() throws IOException {
+        Path target = Path.of(snapshotPath);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Files.deleteIfExists(temporary);
+        try {
+            Files.createFile(temporary, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(temporary);
+        }
+
+        long now = System.currentTimeMillis();
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+                Session session = entry.getValue();
+                if (isExpired(session, now)) {
+                    continue;
+                }
+                out.writeBoolean(true);
+                out.writeUTF(entry.getKey());
+                out.writeUTF(session.username);
+                out.writeLong(session.tokenVersion);
+                out.writeLong(session.createdAtMillis);
+                out.writeLong(session.lastAccessMillis);
+                written++;
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("💾 Snapshot de sessões gravado - Sessões: {}, Arquivo: {}", written, target);
+    }
+
+    private void restore() {
+        Path source = Path.of(snapshotPath);
+        if (!Files.exists(source)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                logger.warn("⚠️ Snapshot de sessões ignorado (formato desconhecido): {}", source);
+                return;
+            }
+            while (in.readBoolean()) {
+                String token = in.readUTF();
+                Session session = new Session(in.readUTF(), in.readLong(), in.readLong(), in.readLong());
+                if (!isExpired(session, now)) {
+                    add(token, session);
+                    restored++;
+                }
+            }
+            logger.info("💾 Sessões restauradas do snapshot - Sessões: {}, Arquivo: {}", restored, source);
+        } catch (IOException e) {
+            // Arquivo corrompido: segue com as sessões lidas até o erro
+            logger.error("❌ Erro ao ler snapshot de sessões {} - restauradas {}: {}", source, restored, e.getMessage());
+        }
+    }
+
+    // Dentro do compute: um remove concorrente do mesmo usuário não descarta o conjunto entre a
+    // busca e o add, o que deixaria o token fora do revokeAll
+    private void add(String token, Session session) {
+        sessions.put(token, session);
+        tokensByUser.compute(session.username, (username, tokens) -> {
+            Set<String> userTokens = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+            userTokens.add(token);
+            return userTokens;
+        });
+    }
+
+    private boolean remove(String token, Session session) {
+        if (!sessions.remove(token, session)) {
+            return false;
+        }
+        tokensByUser.computeIfPresent(session.username, (username, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+        return true;
+    }
+
+    private boolean isExpired(Session session, long nowMillis) {
+        return nowMillis - session.lastAccessMillis >= idleTimeout.toMillis()
+                || nowMillis - session.createdAtMillis >= maxLifetime.toMillis();
+    }
+
+    private void makeRoom(long nowMillis) {
+        // Remoção pelo remove(token, session) para manter tokensByUser em dia
+        int dropped = BoundedMaps.makeRoom(sessions, maxSessions, session -> isExpired(session, nowMillis), this::remove);
+        if (dropped > 0) {
+            logger.warn("⚠️ Limite de sessões atingido ({}) - {} sessões ativas descartadas", maxSessions, dropped);
+        }
+    }
+
+    private void removeExpiredSafely() {
+        try {
+            int removed = removeExpired(System.currentTimeMillis());
+            if (removed > 0) {
+                logger.debug("🎫 Sessões expiradas removidas: {}", removed);
+            }
+        } catch (RuntimeException e) {
+            logger.error("❌ Erro ao remover sessões expiradas: {}", e.getMessage());
+        }
+    }
+
+    private void snapshotSafely() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("❌ Erro ao gravar snapshot de sessões {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+}
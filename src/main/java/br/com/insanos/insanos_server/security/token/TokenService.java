@@ -0,0 +1,22 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+
+/**
+ * Emissão e verificação dos tokens de acesso, independente do formato. O modo vem de
+ * {@code insanos.token.mode}: {@code jwt} (padrão, {@link JwtTokenService}) ou {@code session}
+ * ({@link SessionTokenService}), escolhido no startup pelo {@link ConfiguredTokenService}.
+ *
+ * Nos dois modos o {@code AuthTokenFilter} compara a versão do token com a do usuário, então
+ * logout e revogação por admin funcionam igual.
+ */
+public interface TokenService {
+
+    String issue(UserDetailsImpl principal);
+
+    // null quando o token é inválido, expirado ou desconhecido
+    VerifiedToken verify(String token);
+
+    // Logout: descarta o que o modo guardar do usuário (a versão já é incrementada pelo chamador)
+    void revokeAll(String username);
+}
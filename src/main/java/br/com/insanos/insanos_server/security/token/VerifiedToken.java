@@ -0,0 +1,8 @@
+package br.com.insanos.insanos_server.security.token;
+
+/**
+ * Resultado de um token válido: o usuário e a versão de tokens dele no momento da emissão
+ * ({@code User.tokenVersion}).
+ */
+public record VerifiedToken(String username, long tokenVersion) {
+}
@@ -0,0 +1,118 @@
+package br.com.insanos.insanos_server.service;
+
+import br.com.insanos.insanos_server.cluster.ClusterInvalidationBus;
+import br.com.insanos.insanos_server.dto.ApiKeyRequest;
+import br.com.insanos.insanos_server.dto.ApiKeyResponse;
+import br.com.insanos.insanos_server.model.ApiKey;
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.ApiKeyRepository;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyCodec;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class ApiKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyService.class);
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApiKeyIndex apiKeyIndex;
+
+    @Autowired
+    private ClusterInvalidationBus clusterInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Cria uma chave para o usuário. A resposta é a única vez em que a chave completa aparece.
+     *
+     * @throws IllegalArgumentException usuário inexistente ou role que ele não tem
+     */
+    public ApiKeyResponse mint(ApiKeyRequest request) {
+        Set<String> roles = new HashSet<>();
+        request.getRoles().forEach(role -> roles.add(UserQueryService.normalizeRole(role)));
+
+        ApiKeyCodec.Generated generated = ApiKeyCodec.generate();
+        ApiKey saved = new TransactionTemplate(transactionManager).execute(status -> {
+            User owner = userRepository.findByUsername(request.getUsername())
+                    .orElseThrow(() -> new IllegalArgumentException("Usuário " + request.getUsername() + " não existe"));
+            if (!owner.getRoles().containsAll(roles)) {
+                throw new IllegalArgumentException("Roles além das do usuário: " + roles);
+            }
+
+            ApiKey apiKey = new ApiKey();
+            apiKey.setPrefix(generated.prefix());
+            apiKey.setSecretHash(generated.secretHash());
+            apiKey.setName(request.getName());
+            apiKey.setUserId(owner.getId());
+            apiKey.setUsername(owner.getUsername());
+            apiKey.setRoles(roles);
+            if (request.getExpiresInDays() != null) {
+                apiKey.setExpiresAt(LocalDateTime.now().plusDays(request.getExpiresInDays()));
+            }
+            return apiKeyRepository.save(apiKey);
+        });
+        // Um prefixo chutado antes da criação pode ter ficado em cache como inexistente
+        apiKeyIndex.evict(saved.getPrefix());
+
+        logger.info("🔑 Chave de API criada - ID: {}, Prefixo: {}, Username: {}, Roles: {}",
+            saved.getId(), saved.getPrefix(), saved.getUsername(), roles);
+
+        ApiKeyResponse response = toResponse(saved);
+        response.setKey(generated.key());
+        return response;
+    }
+
+    public List<ApiKeyResponse> list() {
+        return apiKeyRepository.findAllByOrderByIdAsc().stream()
+                .map(ApiKeyService::toResponse)
+                .toList();
+    }
+
+    public boolean revoke(Long id) {
+        Optional<ApiKey> revoked = new TransactionTemplate(transactionManager).execute(status -> {
+            Optional<ApiKey> found = apiKeyRepository.findById(id);
+            found.filter(apiKey -> apiKey.getRevokedAt() == null).ifPresent(apiKey -> {
+                apiKey.setRevokedAt(LocalDateTime.now());
+                apiKeyRepository.save(apiKey);
+            });
+            return found;
+        });
+        if (revoked.isEmpty()) {
+            return false;
+        }
+
+        // Depois do commit, para uma recarga do cache não ler a chave ainda ativa; os outros nós
+        // recebem pelo barramento de invalidação
+        clusterInvalidationBus.apiKeyRevoked(revoked.get().getPrefix());
+
+        logger.info("🚫 Chave de API revogada - ID: {}, Prefixo: {}, Username: {}",
+            id, revoked.get().getPrefix(), revoked.get().getUsername());
+        return true;
+    }
+
+    private static ApiKeyResponse toResponse(ApiKey apiKey) {
+        return new ApiKeyResponse(apiKey.getId(), apiKey.getPrefix(), apiKey.getName(), apiKey.getUsername(),
+                new TreeSet<>(apiKey.getRoles()), apiKey.getCreatedAt(), apiKey.getExpiresAt(), apiKey.getRevokedAt(), null);
+    }
+}
@@ -1,13 +1,20 @@
 package br.com.insanos.insanos_server.service;
 
+import br.com.insanos.insanos_server.activity.UserActivityTracker;
+import br.com.insanos.insanos_server.audit.AuditEventType;
+import br.com.insanos.insanos_server.audit.AuditLog;
+import br.com.insanos.insanos_server.cluster.ClusterInvalidationBus;
 import br.com.insanos.insanos_server.dto.JwtResponse;
 import br.com.insanos.insanos_server.dto.LoginRequest;
 import br.com.insanos.insanos_server.dto.MessageResponse;
 import br.com.insanos.insanos_server.dto.RegisterRequest;
 import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.monitoring.jfr.AuthStageEvent;
+import br.com.insanos.insanos_server.outbox.OutboxPublisher;
 import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.search.UsernameIndex;
 import br.com.insanos.insanos_server.security.UserDetailsImpl;
-import br.com.insanos.insanos_server.security.jwt.JwtUtils;
+import br.com.insanos.insanos_server.security.token.TokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +24,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -37,23 +48,54 @@ public class AuthService {
     private PasswordEncoder encoder;
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private TokenService tokenService;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private UserActivityTracker activityTracker;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         logger.info("🔐 AuthService: Iniciando autenticação - Username: {}", loginRequest.getUsername());
 
         try {
             logger.debug("Criando token de autenticação para: {}", loginRequest.getUsername());
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+            AuthStageEvent authenticateEvent = AuthStageEvent.start(AuthStageEvent.FLOW_LOGIN, AuthStageEvent.STAGE_AUTHENTICATE);
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+            } catch (RuntimeException e) {
+                authenticateEvent.finish(false);
+                // Só aqui é falha de login; erros depois da autenticação não são credenciais recusadas
+                auditLog.record(AuditEventType.LOGIN_FAILURE, loginRequest.getUsername(), clientIp(),
+                    e.getClass().getSimpleName());
+                throw e;
+            }
+            authenticateEvent.finish(true);
 
             logger.debug("Autenticação bem-sucedida, configurando contexto de segurança");
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            logger.debug("Gerando token JWT");
-            String jwt = jwtUtils.generateJwtToken(authentication);
-
+            logger.debug("Gerando token de acesso");
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            AuthStageEvent tokenEvent = AuthStageEvent.start(AuthStageEvent.FLOW_LOGIN, AuthStageEvent.STAGE_TOKEN_GENERATE);
+            String jwt = tokenService.issue(userDetails);
+            tokenEvent.finish(true);
+
             Set<String> roles = userDetails.getAuthorities().stream()
                     .map(item -> item.getAuthority())
                     .collect(Collectors.toSet());
@@ -62,6 +104,8 @@ public class AuthService {
                 userDetails.getUsername(),
                 userDetails.getId(),
                 roles);
+            auditLog.record(AuditEventType.LOGIN_SUCCESS, userDetails.getUsername(), clientIp(), null);
+            activityTracker.recordLogin(userDetails.getUsername());
 
             return new JwtResponse(jwt,
                     userDetails.getId(),
@@ -102,7 +146,9 @@ public class AuthService {
         user.setEmail(signUpRequest.getEmail());
 
         logger.debug("Criptografando senha para: {}", signUpRequest.getUsername());
+        AuthStageEvent hashEvent = AuthStageEvent.start(AuthStageEvent.FLOW_REGISTER, AuthStageEvent.STAGE_PASSWORD_HASH);
         user.setPassword(encoder.encode(signUpRequest.getPassword()));
+        hashEvent.finish(true);
 
         Set<String> strRoles = signUpRequest.getRoles();
         Set<String> roles = new HashSet<>();
@@ -126,7 +172,24 @@ public class AuthService {
         user.setRoles(roles);
 
         logger.debug("Salvando usuário no banco de dados: {}", signUpRequest.getUsername());
-        userRepository.save(user);
+        AuthStageEvent persistEvent = AuthStageEvent.start(AuthStageEvent.FLOW_REGISTER, AuthStageEvent.STAGE_PERSIST);
+        try {
+            // Usuário e evento do outbox na mesma transação: sistemas externos são avisados pelo
+            // relay, sem somar a latência deles ao registro
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                userRepository.save(user);
+                outboxPublisher.userRegistered(user);
+            });
+        } catch (RuntimeException e) {
+            persistEvent.finish(false);
+            throw e;
+        }
+        persistEvent.finish(true);
+
+        usernameIndex.add(user.getUsername());
+        // Um nó pode ter guardado um usuário removido com o mesmo username
+        invalidationBus.userChanged(user.getUsername());
+        auditLog.record(AuditEventType.REGISTRATION, user.getUsername(), clientIp(), String.join(",", roles));
 
         logger.info("✅ Usuário registrado com sucesso - Username: {}, Email: {}, Roles: {}",
             signUpRequest.getUsername(),
@@ -135,5 +198,26 @@ public class AuthService {
 
         return new MessageResponse("Usuário registrado com sucesso!");
     }
-}
 
+    /**
+     * Invalida todos os tokens já emitidos para o usuário: incrementa a versão no banco (o filtro
+     * compara com o claim "ver") e remove o principal em cache de todos os nós.
+     */
+    public MessageResponse logout(String username) {
+        logger.info("🚪 AuthService: Logout - Username: {}", username);
+
+        userRepository.incrementTokenVersion(username);
+        invalidationBus.tokenRevoked(username);
+        tokenService.revokeAll(username);
+
+        logger.info("✅ Tokens revogados - Username: {}", username);
+        return new MessageResponse("Logout realizado com sucesso!");
+    }
+
+    // IP do cliente da requisição atual (null fora de uma requisição HTTP)
+    private static String clientIp() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : null;
+    }
+}
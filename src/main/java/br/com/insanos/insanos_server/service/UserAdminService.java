@@ -0,0 +1,132 @@
+package br.com.insanos.insanos_server.service;
+
+import br.com.insanos.insanos_server.cluster.ClusterInvalidationBus;
+import br.com.insanos.insanos_server.dto.UserUpdateRequest;
+import br.com.insanos.insanos_server.model.ApiKey;
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.outbox.OutboxPublisher;
+import br.com.insanos.insanos_server.repository.ApiKeyRepository;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.search.UsernameIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class UserAdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAdminService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    // Busca e escrita na mesma transação de escrita: o findById sozinho seria readOnly e poderia
+    // ler uma réplica atrasada. Índice e invalidação ficam fora, depois do commit.
+    private TransactionTemplate writeTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    public boolean deleteUser(Long id) {
+        List<String> revokedKeys = new ArrayList<>();
+        Optional<User> user = writeTransaction().execute(status -> {
+            Optional<User> found = userRepository.findById(id);
+            found.ifPresent(existing -> {
+                // Chaves de API do usuário são revogadas junto, mantidas no histórico
+                LocalDateTime now = LocalDateTime.now();
+                for (ApiKey apiKey : apiKeyRepository.findByUserIdAndRevokedAtIsNull(existing.getId())) {
+                    apiKey.setRevokedAt(now);
+                    apiKeyRepository.save(apiKey);
+                    revokedKeys.add(apiKey.getPrefix());
+                }
+                userRepository.delete(existing);
+            });
+            return found;
+        });
+        if (user.isEmpty()) {
+            return false;
+        }
+
+        // Só depois do commit, para o índice nunca esconder um usuário que continua no banco
+        usernameIndex.remove(user.get().getUsername());
+        invalidationBus.userChanged(user.get().getUsername());
+        revokedKeys.forEach(invalidationBus::apiKeyRevoked);
+
+        logger.info("🗑️ Usuário removido - ID: {}, Username: {}, Chaves de API revogadas: {}",
+            id, user.get().getUsername(), revokedKeys.size());
+        return true;
+    }
+
+    public boolean updateUser(Long id, UserUpdateRequest update) {
+        Optional<User> updated = writeTransaction().execute(status -> {
+            Optional<User> found = userRepository.findById(id);
+            found.ifPresent(user -> {
+                if (update.getEnabled() != null) {
+                    user.setEnabled(update.getEnabled());
+                }
+                if (update.getRoles() != null) {
+                    Set<String> previousRoles = new HashSet<>(user.getRoles());
+                    Set<String> roles = new HashSet<>();
+                    update.getRoles().forEach(role -> roles.add(UserQueryService.normalizeRole(role)));
+                    user.setRoles(roles);
+                    if (!roles.equals(previousRoles)) {
+                        outboxPublisher.userRolesChanged(user, previousRoles);
+                    }
+                }
+                userRepository.save(user);
+            });
+            return found;
+        });
+        if (updated.isEmpty()) {
+            return false;
+        }
+
+        User user = updated.get();
+        // Depois do commit: um nó que recarregar antes disso leria o valor antigo e o guardaria
+        invalidationBus.userChanged(user.getUsername());
+
+        logger.info("✏️ Usuário atualizado - ID: {}, Username: {}, Enabled: {}, Roles: {}",
+            id, user.getUsername(), user.isEnabled(), user.getRoles());
+        return true;
+    }
+
+    public boolean revokeTokens(Long id) {
+        Optional<User> user = writeTransaction().execute(status -> {
+            Optional<User> found = userRepository.findById(id);
+            found.ifPresent(existing -> userRepository.incrementTokenVersion(existing.getUsername()));
+            return found;
+        });
+        if (user.isEmpty()) {
+            return false;
+        }
+
+        invalidationBus.tokenRevoked(user.get().getUsername());
+
+        logger.info("🚫 Tokens revogados - ID: {}, Username: {}", id, user.get().getUsername());
+        return true;
+    }
+}
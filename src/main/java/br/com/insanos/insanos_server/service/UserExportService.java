@@ -0,0 +1,208 @@
+package br.com.insanos.insanos_server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exporta todos os usuários direto para o stream da resposta, sem carregar a tabela na heap.
+ *
+ * Um único SELECT forward-only (users LEFT JOIN user_roles ordenado por id) é lido com fetch size;
+ * as linhas de roles do mesmo usuário são agrupadas enquanto o cursor avança, então a memória
+ * usada é a de um usuário por vez. Nenhuma entidade JPA é criada e o hash da senha não é lido.
+ * A transação read-only mantém a conexão (e o cursor, no PostgreSQL) aberta durante o export.
+ */
+@Service
+public class UserExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String EXPORT_QUERY =
+        "SELECT u.id, u.username, u.email, u.created_at, u.enabled, r.role "
+            + "FROM users u LEFT JOIN user_roles r ON r.user_id = u.id "
+            + "ORDER BY u.id";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${insanos.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowSink sink = format == Format.CSV ? new CsvSink(writer) : new NdjsonSink(writer);
+
+        UserFolder folder = new UserFolder(sink);
+        try {
+            jdbcTemplate.query(EXPORT_QUERY, folder);
+            folder.finish();
+            sink.close();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return folder.exported;
+    }
+
+    private interface RowSink {
+        void write(long id, String username, String email, Timestamp createdAt, boolean enabled, List<String> roles)
+                throws IOException;
+
+        void close() throws IOException;
+    }
+
+    // Agrupa as linhas consecutivas do mesmo usuário (uma por role) em um único registro
+    private static class UserFolder implements RowCallbackHandler {
+
+        private final RowSink sink;
+        private final List<String> roles = new ArrayList<>(4);
+
+        private long currentId = -1;
+        private String username;
+        private String email;
+        private Timestamp createdAt;
+        private boolean enabled;
+        private long exported;
+
+        UserFolder(RowSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id != currentId) {
+                finish();
+                currentId = id;
+                username = rs.getString(2);
+                email = rs.getString(3);
+                createdAt = rs.getTimestamp(4);
+                enabled = rs.getBoolean(5);
+            }
+            String role = rs.getString(6);
+            if (role != null) {
+                roles.add(role);
+            }
+        }
+
+        void finish() {
+            if (currentId < 0) {
+                return;
+            }
+            try {
+                sink.write(currentId, username, email, createdAt, enabled, roles);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exported++;
+            roles.clear();
+            currentId = -1;
+        }
+    }
+
+    private class NdjsonSink implements RowSink {
+
+        private final JsonGenerator generator;
+
+        NdjsonSink(Writer writer) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(long id, String username, String email, Timestamp createdAt, boolean enabled,
+                          List<String> roles) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("username", username);
+            generator.writeStringField("email", email);
+            generator.writeArrayFieldStart("roles");
+            for (String role : roles) {
+                generator.writeString(role);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+            generator.writeBooleanField("enabled", enabled);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvSink implements RowSink {
+
+        private final Writer writer;
+
+        CsvSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,username,email,roles,createdAt,enabled\n");
+        }
+
+        @Override
+        public void write(long id, String username, String email, Timestamp createdAt, boolean enabled,
+                          List<String> roles) throws IOException {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(escape(username));
+            writer.write(',');
+            writer.write(escape(email));
+            writer.write(',');
+            writer.write(escape(String.join("|", roles)));
+            writer.write(',');
+            writer.write(createdAt != null ? createdAt.toLocalDateTime().toString() : "");
+            writer.write(',');
+            writer.write(Boolean.toString(enabled));
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
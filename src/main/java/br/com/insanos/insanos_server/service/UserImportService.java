@@ -0,0 +1,299 @@
+package br.com.insanos.insanos_server.service;
+
+import br.com.insanos.insanos_server.datasource.ReadAfterWriteGuard;
+import br.com.insanos.insanos_server.dto.RegisterRequest;
+import br.com.insanos.insanos_server.dto.UserImportResponse;
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.outbox.OutboxPublisher;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.search.UsernameIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de usuários a partir de CSV ou NDJSON.
+ *
+ * O corpo é lido em streaming e processado em lotes de {@code insanos.import.chunk-size} linhas:
+ * validação (mesmas regras de {@link RegisterRequest}), checagem de duplicados no lote e no banco
+ * com uma query por lote, hash BCrypt em paralelo no pool limitado e gravação do lote em uma
+ * transação (inserts agrupados pelo hibernate.jdbc.batch_size). Cada lote é commitado antes do
+ * próximo, então duplicados entre lotes são detectados pela checagem no banco.
+ */
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private ReadAfterWriteGuard readAfterWriteGuard;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${insanos.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${insanos.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${insanos.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private ExecutorService hashPool;
+
+    private TransactionTemplate transactionTemplate;
+
+    private record Row(long line, RegisterRequest request) {
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    public UserImportResponse importUsers(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        UserImportResponse result = new UserImportResponse();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && line.trim().toLowerCase().startsWith("username"))) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+
+            RegisterRequest request;
+            try {
+                request = format == Format.CSV ? parseCsv(line) : objectMapper.readValue(line, RegisterRequest.class);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                reject(result, lineNumber, null, "Linha inválida: " + e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(result, lineNumber, request.getUsername(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, request));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        result.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void importChunk(List<Row> rows, UserImportResponse result) {
+        logger.debug("Importando lote de {} linhas", rows.size());
+
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+            rows.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+            rows.stream().map(row -> row.request().getEmail()).toList()));
+
+        Set<String> chunkUsernames = new HashSet<>();
+        Set<String> chunkEmails = new HashSet<>();
+        List<Row> accepted = new ArrayList<>(rows.size());
+
+        for (Row row : rows) {
+            RegisterRequest request = row.request();
+            if (existingUsernames.contains(request.getUsername()) || !chunkUsernames.add(request.getUsername())) {
+                reject(result, row.line(), request.getUsername(), "Erro: Username já está em uso!");
+            } else if (existingEmails.contains(request.getEmail()) || !chunkEmails.add(request.getEmail())) {
+                reject(result, row.line(), request.getUsername(), "Erro: Email já está em uso!");
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        List<Future<String>> hashes = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+            hashes.add(hashPool.submit(() -> encoder.encode(row.request().getPassword())));
+        }
+
+        List<User> users = new ArrayList<>(accepted.size());
+        List<Row> hashed = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            try {
+                users.add(toUser(row.request(), hashes.get(i).get()));
+                hashed.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            } catch (ExecutionException e) {
+                reject(result, row.line(), row.request().getUsername(), "Erro ao criptografar senha: " + e.getCause().getMessage());
+            }
+        }
+
+        if (users.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                users.forEach(outboxPublisher::userRegistered);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + users.size());
+            users.forEach(user -> usernameIndex.add(user.getUsername()));
+            readAfterWriteGuard.markBulkWrite();
+        } catch (DataAccessException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.error("❌ Falha ao gravar lote de importação ({} usuários): {}", users.size(), cause);
+            for (Row row : hashed) {
+                reject(result, row.line(), row.request().getUsername(), "Erro ao gravar lote: " + cause);
+            }
+        }
+    }
+
+    private User toUser(RegisterRequest request, String passwordHash) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordHash);
+
+        Set<String> roles = new HashSet<>();
+        if (request.getRoles() == null || request.getRoles().isEmpty()) {
+            roles.add("ROLE_USER");
+        } else {
+            request.getRoles().forEach(role -> roles.add(role.equals("admin") ? "ROLE_ADMIN" : "ROLE_USER"));
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+    private void reject(UserImportResponse result, long line, String username, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new UserImportResponse.RowError(line, username, message));
+        }
+    }
+
+    // username,email,password[,roles] - roles separadas por '|', campos podem vir entre aspas duplas
+    static RegisterRequest parseCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        fields.add(field.toString().trim());
+
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new IllegalArgumentException("esperado username,email,password[,roles], encontrados " + fields.size() + " campos");
+        }
+
+        Set<String> roles = fields.size() == 4 && !fields.get(3).isEmpty()
+            ? Arrays.stream(fields.get(3).split("\\|")).map(String::trim).collect(Collectors.toSet())
+            : null;
+        return new RegisterRequest(fields.get(0), fields.get(1), fields.get(2), roles);
+    }
+}
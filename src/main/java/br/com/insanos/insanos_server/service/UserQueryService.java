@@ -0,0 +1,103 @@
+package br.com.insanos.insanos_server.service;
+
+import br.com.insanos.insanos_server.dto.UserPageResponse;
+import br.com.insanos.insanos_server.dto.UserSearchRequest;
+import br.com.insanos.insanos_server.dto.UserSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Listagem de usuários para administração com paginação keyset (seek) em {@code id}.
+ *
+ * Em vez de OFFSET, cada página filtra {@code id > afterId} e ordena por id, então o custo de uma
+ * página não cresce com a posição na tabela. Só os filtros informados entram no WHERE, para o
+ * banco poder usar os índices declarados em {@link br.com.insanos.insanos_server.model.User}.
+ * São duas queries por página: a projeção dos usuários (sem senha) e as roles dos ids da página.
+ */
+@Service
+public class UserQueryService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public UserPageResponse listUsers(UserSearchRequest search) {
+        StringBuilder jpql = new StringBuilder(
+            "select new br.com.insanos.insanos_server.dto.UserSummary(u.id, u.username, u.email, u.createdAt, u.enabled) "
+                + "from User u where u.id > :afterId");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("afterId", search.getAfterId() != null ? search.getAfterId() : 0L);
+
+        if (search.getUsername() != null && !search.getUsername().isBlank()) {
+            jpql.append(" and u.username like :username escape '\\'");
+            parameters.put("username", escapeLike(search.getUsername().trim()) + "%");
+        }
+        if (search.getRole() != null && !search.getRole().isBlank()) {
+            jpql.append(" and :role member of u.roles");
+            parameters.put("role", normalizeRole(search.getRole()));
+        }
+        if (search.getEnabled() != null) {
+            jpql.append(" and u.enabled = :enabled");
+            parameters.put("enabled", search.getEnabled());
+        }
+        if (search.getCreatedFrom() != null) {
+            jpql.append(" and u.createdAt >= :createdFrom");
+            parameters.put("createdFrom", search.getCreatedFrom());
+        }
+        if (search.getCreatedTo() != null) {
+            jpql.append(" and u.createdAt < :createdTo");
+            parameters.put("createdTo", search.getCreatedTo());
+        }
+        jpql.append(" order by u.id");
+
+        TypedQuery<UserSummary> query = entityManager.createQuery(jpql.toString(), UserSummary.class);
+        parameters.forEach(query::setParameter);
+        // Um registro a mais indica se existe próxima página sem precisar de COUNT
+        query.setMaxResults(search.getLimit() + 1);
+
+        List<UserSummary> rows = query.getResultList();
+        boolean hasNext = rows.size() > search.getLimit();
+        List<UserSummary> page = hasNext ? rows.subList(0, search.getLimit()) : rows;
+
+        loadRoles(page);
+
+        UserPageResponse response = new UserPageResponse();
+        response.setUsers(List.copyOf(page));
+        response.setNextAfterId(hasNext ? page.get(page.size() - 1).getId() : null);
+        return response;
+    }
+
+    private void loadRoles(List<UserSummary> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        Map<Long, UserSummary> byId = new LinkedHashMap<>();
+        page.forEach(user -> byId.put(user.getId(), user));
+
+        List<Object[]> roles = entityManager.createQuery(
+                "select u.id, r from User u join u.roles r where u.id in :ids", Object[].class)
+            .setParameter("ids", byId.keySet())
+            .getResultList();
+        for (Object[] row : roles) {
+            byId.get((Long) row[0]).getRoles().add((String) row[1]);
+        }
+    }
+
+    static String normalizeRole(String role) {
+        String normalized = role.trim().toUpperCase(Locale.ROOT);
+        return normalized.startsWith("ROLE_") ? normalized : "ROLE_" + normalized;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
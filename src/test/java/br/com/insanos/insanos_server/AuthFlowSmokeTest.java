@@ -0,0 +1,111 @@
+package br.com.insanos.insanos_server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fluxos login + /me e logout contra o servidor real (porta aleatória), sem mocks.
+ * É o teste executado no build nativo: mvn -PnativeTest test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Fluxo de autenticação ponta a ponta - Testes de Integração")
+class AuthFlowSmokeTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve fazer login e consultar /me com o token emitido")
+    void shouldLoginAndReadCurrentUser() throws Exception {
+        // Given
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"insanos\",\"password\":\"insanos321\"}"))
+                .build();
+
+        // When
+        HttpResponse<String> loginResponse = client.send(login, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, loginResponse.statusCode());
+        JsonNode jwt = objectMapper.readTree(loginResponse.body());
+        assertEquals("insanos", jwt.get("username").asText());
+
+        HttpRequest me = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/me"))
+                .header("Authorization", "Bearer " + jwt.get("token").asText())
+                .GET()
+                .build();
+        HttpResponse<String> meResponse = client.send(me, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, meResponse.statusCode());
+        JsonNode user = objectMapper.readTree(meResponse.body());
+        assertEquals("insanos", user.get("username").asText());
+        assertEquals("user@insanos.com", user.get("email").asText());
+    }
+
+    @Test
+    @DisplayName("Deve negar /me com token inválido")
+    void shouldRejectInvalidToken() throws Exception {
+        HttpRequest me = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/me"))
+                .header("Authorization", "Bearer invalid.token.value")
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(me, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(401, response.statusCode());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o token emitido depois do logout")
+    void shouldRejectTokenAfterLogout() throws Exception {
+        // Given
+        send(post("/api/auth/register",
+                "{\"username\":\"smokelogout\",\"email\":\"smokelogout@test.com\",\"password\":\"password123\"}"));
+        String login = "{\"username\":\"smokelogout\",\"password\":\"password123\"}";
+        String token = objectMapper.readTree(send(post("/api/auth/login", login)).body()).get("token").asText();
+        assertEquals(200, send(withToken("/api/auth/me", token).GET().build()).statusCode());
+
+        // When
+        HttpResponse<String> logout = send(withToken("/api/auth/logout", token)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+
+        // Then
+        assertEquals(200, logout.statusCode());
+        assertEquals(401, send(withToken("/api/auth/me", token).GET().build()).statusCode());
+
+        String newToken = objectMapper.readTree(send(post("/api/auth/login", login)).body()).get("token").asText();
+        assertEquals(200, send(withToken("/api/auth/me", newToken).GET().build()).statusCode());
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder withToken(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
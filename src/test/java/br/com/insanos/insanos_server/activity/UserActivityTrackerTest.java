@@ -0,0 +1,151 @@
+package br.com.insanos.insanos_server.activity;
+
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("UserActivityTracker - Testes de Integração")
+class UserActivityTrackerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserActivityTracker activityTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve gravar último login só no flush, sem alterar updatedAt")
+    void shouldWriteLastLoginOnFlush() throws Exception {
+        // Given
+        saveUser("activity1");
+        LocalDateTime updatedAt = userRepository.findByUsername("activity1").orElseThrow().getUpdatedAt();
+
+        // When
+        login("activity1");
+        User beforeFlush = userRepository.findByUsername("activity1").orElseThrow();
+        activityTracker.flush();
+
+        // Then
+        assertNull(beforeFlush.getLastLoginAt());
+        User user = userRepository.findByUsername("activity1").orElseThrow();
+        assertNotNull(user.getLastLoginAt());
+        assertEquals(user.getLastLoginAt(), user.getLastSeenAt());
+        assertEquals(updatedAt, user.getUpdatedAt());
+        assertEquals(0, activityTracker.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar várias requisições autenticadas em uma única atualização de última atividade")
+    void shouldCoalesceRequestsIntoLastSeen() throws Exception {
+        // Given
+        saveUser("activity2");
+        String token = login("activity2");
+        activityTracker.flush();
+        LocalDateTime lastLogin = userRepository.findByUsername("activity2").orElseThrow().getLastLoginAt();
+        Thread.sleep(5);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        int flushedUsers = activityTracker.flush();
+
+        // Then
+        assertEquals(1, flushedUsers);
+        User user = userRepository.findByUsername("activity2").orElseThrow();
+        assertEquals(lastLogin, user.getLastLoginAt());
+        assertTrue(user.getLastSeenAt().isAfter(lastLogin));
+    }
+
+    @Test
+    @DisplayName("Não deve voltar timestamps para trás nem ser sobrescrito ao salvar a entidade")
+    void shouldNeverMoveBackwards() throws Exception {
+        // Given - outro nó já gravou uma atividade mais recente
+        saveUser("activity3");
+        User loaded = userRepository.findByUsername("activity3").orElseThrow();
+        LocalDateTime future = LocalDateTime.now().plusDays(1).withNano(0);
+        jdbcTemplate.update("update users set last_seen_at = ? where username = ?", future, "activity3");
+
+        // When
+        activityTracker.recordSeen("activity3");
+        activityTracker.flush();
+        loaded.setEmail("activity3-new@test.com");
+        userRepository.save(loaded);
+
+        // Then
+        User user = userRepository.findByUsername("activity3").orElseThrow();
+        assertEquals(future, user.getLastSeenAt());
+        assertEquals("activity3-new@test.com", user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a atividade pendente ao encerrar")
+    void shouldFlushOnStop() throws Exception {
+        // Given - instância própria com intervalo longo, para o flush vir só do stop()
+        saveUser("activity4");
+        UserActivityTracker tracker = new UserActivityTracker();
+        ReflectionTestUtils.setField(tracker, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(tracker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tracker, "flushInterval", Duration.ofHours(1));
+        tracker.start();
+        tracker.recordLogin("activity4");
+
+        // When
+        tracker.stop();
+
+        // Then
+        assertNotNull(userRepository.findByUsername("activity4").orElseThrow().getLastLoginAt());
+    }
+
+    private void saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.getRoles().add("ROLE_USER");
+        userRepository.save(user);
+    }
+
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
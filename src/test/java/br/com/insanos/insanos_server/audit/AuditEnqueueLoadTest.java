@@ -0,0 +1,107 @@
+package br.com.insanos.insanos_server.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Custo do {@link AuditLog#record} na thread da requisição, com a thread de escrita gravando em
+ * paralelo. Os produtores esperam a escrita alcançá-los quando a fila passa da metade, fora do
+ * trecho medido: assim toda chamada medida é um enfileiramento aceito, não um descarte por fila
+ * cheia (que é bem mais barato). Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=AuditEnqueueLoadTest -Dloadtest.threads=8
+ * </pre>
+ */
+@DisplayName("AuditLog - Teste de Carga")
+class AuditEnqueueLoadTest {
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 4);
+    private static final int EVENTS_PER_THREAD = Integer.getInteger("loadtest.auditEvents", 500_000);
+    // Eventos medidos de uma vez entre as checagens de folga na fila
+    private static final int BATCH = 256;
+    private static final int BUFFER_SIZE = 65536;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Carga: enfileirar evento de auditoria deve custar menos de 1 µs")
+    void enqueueShouldStaySubMicrosecond() throws Exception {
+        AuditLog auditLog = new AuditLog();
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditLog, "directory", directory.toString());
+        ReflectionTestUtils.setField(auditLog, "bufferSize", BUFFER_SIZE);
+        auditLog.start();
+
+        // Aquecimento (JIT)
+        runProducers(auditLog, 200_000);
+        auditLog.flush();
+
+        long[] nanos = runProducers(auditLog, EVENTS_PER_THREAD);
+        auditLog.stop();
+
+        long total = 0;
+        for (long value : nanos) {
+            total += value;
+        }
+        double nanosPerEvent = (double) total / ((long) THREADS * EVENTS_PER_THREAD);
+        System.out.printf("📜 Auditoria: %d threads x %d eventos - %.1f ns/evento, gravados=%d, descartados=%d%n",
+            THREADS, EVENTS_PER_THREAD, nanosPerEvent, auditLog.getWrittenCount(), auditLog.getDroppedCount());
+
+        assertEquals(0, auditLog.getDroppedCount());
+        assertTrue(nanosPerEvent < 1000, "enfileirar custou " + nanosPerEvent + " ns/evento");
+    }
+
+    private static long[] runProducers(AuditLog auditLog, int events) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder produced = new LongAdder();
+        long baseline = auditLog.getWrittenCount() + auditLog.getDroppedCount();
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            String username = "loadtest" + t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                long elapsed = 0;
+                for (int sent = 0; sent < events; sent += BATCH) {
+                    // Espera fora da medição até a fila ter folga para o lote de todas as threads
+                    while (baseline + produced.sum() - auditLog.getWrittenCount() > BUFFER_SIZE / 2) {
+                        Thread.onSpinWait();
+                    }
+                    int batch = Math.min(BATCH, events - sent);
+                    long begin = System.nanoTime();
+                    for (int i = 0; i < batch; i++) {
+                        auditLog.record(AuditEventType.LOGIN_SUCCESS, username, "10.0.0.1", null);
+                    }
+                    elapsed += System.nanoTime() - begin;
+                    produced.add(batch);
+                }
+                return elapsed;
+            }));
+        }
+        start.countDown();
+
+        long[] nanos = new long[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            nanos[t] = futures.get(t).get();
+        }
+        executor.shutdown();
+        return nanos;
+    }
+}
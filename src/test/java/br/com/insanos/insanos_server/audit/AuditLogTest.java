@@ -0,0 +1,97 @@
+package br.com.insanos.insanos_server.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditLog - Testes Unitários")
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditLog auditLog;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuditLog();
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(auditLog, "directory", directory.toString());
+        ReflectionTestUtils.setField(auditLog, "bufferSize", 1024);
+        ReflectionTestUtils.setField(auditLog, "fsyncInterval", Duration.ofMillis(10));
+        auditLog.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditLog.stop();
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos em segundo plano")
+    void shouldWriteEventsInBackground() throws Exception {
+        // Given
+        auditLog.record(AuditEventType.LOGIN_SUCCESS, "insanos", "127.0.0.1", null);
+        auditLog.record(AuditEventType.LOGIN_FAILURE, "insanos", "127.0.0.1", "BadCredentialsException");
+
+        // When - sem flush explícito: a thread de escrita drena a fila
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditLog.getWrittenCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Then
+        assertEquals(2, auditLog.getWrittenCount());
+        List<AuditRecord> records = AuditSegmentReader.read(directory);
+        assertEquals(List.of(AuditEventType.LOGIN_SUCCESS, AuditEventType.LOGIN_FAILURE),
+            records.stream().map(AuditRecord::type).toList());
+        assertEquals(2.0, meterRegistry.get("audit.events").tag("outcome", "written").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve gravar tudo o que estava na fila ao encerrar")
+    void shouldFlushOnStop() throws Exception {
+        // Given
+        for (int i = 0; i < 500; i++) {
+            auditLog.record(AuditEventType.REGISTRATION, "user" + i, null, "ROLE_USER");
+        }
+
+        // When
+        auditLog.stop();
+
+        // Then
+        assertEquals(500, AuditSegmentReader.read(directory).size());
+        assertEquals(0, auditLog.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada quando desativado")
+    void shouldIgnoreEventsWhenDisabled() throws Exception {
+        // Given
+        AuditLog disabled = new AuditLog();
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.start();
+
+        // When
+        disabled.record(AuditEventType.LOGIN_SUCCESS, "insanos", null, null);
+        disabled.flush();
+
+        // Then
+        assertEquals(0, disabled.getWrittenCount());
+        disabled.stop();
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.insanos.insanos_server.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditRingBuffer - Testes Unitários")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Deve entregar os eventos na ordem em que foram enfileirados")
+    void shouldDrainInOrder() {
+        // Given
+        AuditRingBuffer ring = new AuditRingBuffer(8);
+        ring.offer(AuditEventType.LOGIN_SUCCESS, 1L, "ana", "10.0.0.1", null);
+        ring.offer(AuditEventType.LOGIN_FAILURE, 2L, "bia", "10.0.0.2", "BadCredentialsException");
+
+        // When
+        List<String> drained = new ArrayList<>();
+        int count = ring.drain((type, timestamp, username, clientIp, detail) ->
+            drained.add(type + "|" + timestamp + "|" + username + "|" + clientIp + "|" + detail), 10);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(List.of("LOGIN_SUCCESS|1|ana|10.0.0.1|null",
+            "LOGIN_FAILURE|2|bia|10.0.0.2|BadCredentialsException"), drained);
+        assertEquals(0, ring.drain((type, timestamp, username, clientIp, detail) -> fail(), 10));
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar eventos com a fila cheia, voltando a aceitar após o consumo")
+    void shouldDropWhenFull() {
+        // Given
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(AuditEventType.REGISTRATION, i, "u" + i, null, null));
+        }
+
+        // When
+        boolean accepted = ring.offer(AuditEventType.REGISTRATION, 4, "u4", null, null);
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1, ring.getDropped());
+
+        assertEquals(2, ring.drain((type, timestamp, username, clientIp, detail) -> { }, 2));
+        assertTrue(ring.offer(AuditEventType.REGISTRATION, 5, "u5", null, null));
+        assertTrue(ring.offer(AuditEventType.REGISTRATION, 6, "u6", null, null));
+        assertFalse(ring.offer(AuditEventType.REGISTRATION, 7, "u7", null, null));
+    }
+
+    @Test
+    @DisplayName("Não deve perder nem duplicar eventos com vários produtores concorrentes")
+    void shouldHandleConcurrentProducers() throws Exception {
+        // Given
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer ring = new AuditRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(AuditEventType.TOKEN_REJECTED, base + i, null, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        Set<Long> seen = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            ring.drain((type, timestamp, username, clientIp, detail) -> assertTrue(seen.add(timestamp)), 512);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(producers * perProducer, seen.size());
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve exigir capacidade potência de 2")
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000));
+    }
+}
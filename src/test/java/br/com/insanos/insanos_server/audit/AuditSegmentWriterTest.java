@@ -0,0 +1,112 @@
+package br.com.insanos.insanos_server.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditSegmentWriter - Testes Unitários")
+class AuditSegmentWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve gravar e ler de volta os eventos de um segmento")
+    void shouldRoundTripRecords() throws IOException {
+        // Given
+        AuditSegmentWriter writer = new AuditSegmentWriter(directory, 64 * 1024, 4);
+
+        // When
+        writer.append(AuditEventType.LOGIN_SUCCESS, 1_700_000_000_000L, "insanos", "127.0.0.1", null);
+        writer.append(AuditEventType.TOKEN_REJECTED, 1_700_000_000_001L, null, "::1", "invalid");
+        writer.close();
+
+        // Then
+        List<AuditRecord> records = AuditSegmentReader.read(directory);
+        assertEquals(2, records.size());
+        assertEquals(new AuditRecord(Instant.ofEpochMilli(1_700_000_000_000L), AuditEventType.LOGIN_SUCCESS,
+            "insanos", "127.0.0.1", null), records.get(0));
+        assertEquals(AuditEventType.TOKEN_REJECTED, records.get(1).type());
+        assertNull(records.get(1).username());
+        assertEquals("invalid", records.get(1).detail());
+    }
+
+    @Test
+    @DisplayName("Deve abrir novo segmento quando o atual enche e manter só os mais recentes")
+    void shouldRotateAndApplyRetention() throws IOException {
+        // Given - cabem poucos registros de ~800 bytes por segmento
+        int segmentSize = AuditSegmentWriter.HEADER_SIZE + 3 * AuditSegmentWriter.MAX_RECORD_SIZE;
+        AuditSegmentWriter writer = new AuditSegmentWriter(directory, segmentSize, 2);
+        String big = "x".repeat(300);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            writer.append(AuditEventType.REGISTRATION, i, "user" + i, big, big);
+        }
+        writer.close();
+
+        // Then
+        List<Path> segments = AuditSegmentWriter.listSegments(directory);
+        assertEquals(2, segments.size());
+        List<AuditRecord> records = AuditSegmentReader.read(directory);
+        assertEquals("user19", records.get(records.size() - 1).username());
+        assertEquals(AuditSegmentWriter.MAX_STRING_BYTES, records.get(0).clientIp().length());
+        for (int i = 1; i < records.size(); i++) {
+            assertEquals(records.get(i - 1).timestamp().toEpochMilli() + 1, records.get(i).timestamp().toEpochMilli());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve começar um segmento novo após reinício sem sobrescrever os anteriores")
+    void shouldStartNewSegmentOnRestart() throws IOException {
+        // Given
+        AuditSegmentWriter first = new AuditSegmentWriter(directory, 64 * 1024, 4);
+        first.append(AuditEventType.LOGIN_SUCCESS, 1L, "a", null, null);
+        first.close();
+
+        // When
+        AuditSegmentWriter second = new AuditSegmentWriter(directory, 64 * 1024, 4);
+        second.append(AuditEventType.LOGIN_SUCCESS, 2L, "b", null, null);
+        second.close();
+
+        // Then
+        assertEquals(2, AuditSegmentWriter.listSegments(directory).size());
+        assertEquals(List.of("a", "b"), AuditSegmentReader.read(directory).stream().map(AuditRecord::username).toList());
+    }
+
+    @Test
+    @DisplayName("Não deve cortar caracteres UTF-8 ao truncar e deve escapar o JSON")
+    void shouldTruncateUtf8AndEscapeJson() throws IOException {
+        // Given
+        AuditSegmentWriter writer = new AuditSegmentWriter(directory, 64 * 1024, 4);
+        String accents = "é".repeat(200);
+
+        // When
+        writer.append(AuditEventType.LOGIN_FAILURE, 0L, "jo\"ão", null, accents);
+        writer.close();
+
+        // Then
+        AuditRecord record = AuditSegmentReader.read(directory).get(0);
+        assertEquals("é".repeat(127), record.detail());
+        assertEquals("{\"timestamp\":\"1970-01-01T00:00:00Z\",\"type\":\"LOGIN_FAILURE\",\"username\":\"jo\\\"ão\","
+            + "\"clientIp\":null,\"detail\":\"" + "é".repeat(127) + "\"}", record.toJson());
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo que não é segmento de auditoria")
+    void shouldRejectForeignFile() throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("audit-0000000001.seg"), "não é um segmento");
+
+        // When & Then
+        assertThrows(IOException.class, () -> AuditSegmentReader.read(file));
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.insanos.insanos_server.cluster;
+
+import br.com.insanos.insanos_server.datasource.ReadAfterWriteGuard;
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("ClusterInvalidationBus - Testes Unitários")
+class ClusterInvalidationBusTest {
+
+    private LoopbackClusterTransport.Hub hub;
+    private PrincipalCache cacheA;
+    private PrincipalCache cacheB;
+    private ApiKeyIndex apiKeysA;
+    private ApiKeyIndex apiKeysB;
+    private ClusterInvalidationBus nodeA;
+    private ClusterInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LoopbackClusterTransport.Hub();
+        cacheA = new PrincipalCache();
+        cacheB = new PrincipalCache();
+        apiKeysA = mock(ApiKeyIndex.class);
+        apiKeysB = mock(ApiKeyIndex.class);
+        // Janela longa: os testes drenam explicitamente
+        nodeA = node(cacheA, apiKeysA, Duration.ofMinutes(1));
+        nodeB = node(cacheB, apiKeysB, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada local na hora e a remota depois da janela")
+    void shouldEvictLocallyAndRemotely() {
+        // Given
+        load(cacheA, "ana");
+        load(cacheB, "ana");
+
+        // When
+        nodeA.userChanged("ana");
+
+        // Then
+        assertEquals(0, cacheA.size());
+        assertEquals(1, cacheB.size());
+
+        nodeB.drain();
+        assertEquals(0, cacheB.size());
+        assertEquals(1, nodeB.getReceivedCount());
+        assertEquals(0, nodeA.getReceivedCount());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar eventos repetidos numa única remoção")
+    void shouldCoalesceRepeatedEvents() {
+        // Given
+        load(cacheB, "ana");
+        load(cacheB, "bruno");
+
+        // When
+        nodeA.userChanged("ana");
+        nodeA.tokenRevoked("ana");
+        nodeA.userChanged("ana");
+        nodeB.drain();
+
+        // Then
+        assertEquals(3, nodeB.getReceivedCount());
+        assertEquals(1, nodeB.getEvictedCount());
+        assertEquals(1, cacheB.size());
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache inteiro quando houver invalidações demais pendentes")
+    void shouldClearCacheWhenTooManyPending() {
+        // Given
+        ReflectionTestUtils.setField(nodeB, "maxPending", 2);
+        load(cacheB, "ana");
+        load(cacheB, "zeca");
+
+        // When
+        nodeA.userChanged("bruno");
+        nodeA.userChanged("carla");
+        nodeA.userChanged("daniel");
+        nodeB.drain();
+
+        // Then
+        assertEquals(0, cacheB.size());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as invalidações em segundo plano")
+    void shouldDrainInBackground() throws InterruptedException {
+        // Given
+        PrincipalCache cacheC = new PrincipalCache();
+        ClusterInvalidationBus nodeC = node(cacheC, mock(ApiKeyIndex.class), Duration.ofMillis(10));
+        load(cacheC, "ana");
+
+        // When
+        nodeA.tokenRevoked("ana");
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cacheC.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        nodeC.stop();
+        assertEquals(0, cacheC.size());
+    }
+
+    @Test
+    @DisplayName("Deve remover a chave de API revogada do índice local e do remoto sem esperar a janela")
+    void shouldPropagateApiKeyRevocation() {
+        // When
+        nodeA.apiKeyRevoked("ik_3f9a");
+
+        // Then
+        verify(apiKeysA).evict("ik_3f9a");
+        verify(apiKeysB).evict("ik_3f9a");
+        assertEquals(1, nodeB.getReceivedCount());
+        assertEquals(0, nodeB.getEvictedCount());
+    }
+
+    private ClusterInvalidationBus node(PrincipalCache cache, ApiKeyIndex apiKeyIndex, Duration coalesceWindow) {
+        ClusterInvalidationBus bus = new ClusterInvalidationBus();
+        ReflectionTestUtils.setField(bus, "transport", new LoopbackClusterTransport(hub));
+        ReflectionTestUtils.setField(bus, "principalCache", cache);
+        ReflectionTestUtils.setField(bus, "apiKeyIndex", apiKeyIndex);
+        ReflectionTestUtils.setField(bus, "readAfterWriteGuard", new ReadAfterWriteGuard());
+        ReflectionTestUtils.setField(bus, "coalesceWindow", coalesceWindow);
+        bus.start();
+        return bus;
+    }
+
+    private static void load(PrincipalCache cache, String username) {
+        cache.get(username, name -> new UserDetailsImpl(1L, name, name + "@test.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true));
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.insanos.insanos_server.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoopbackClusterTransport - Testes Unitários")
+class LoopbackClusterTransportTest {
+
+    private static final ClusterEvent EVENT = new ClusterEvent(ClusterEvent.Type.USER_CHANGED, "ana", "node-a");
+
+    @Test
+    @DisplayName("Deve entregar os eventos a todos os transportes do mesmo hub")
+    void shouldDeliverToTransportsSharingHub() {
+        // Given
+        LoopbackClusterTransport.Hub hub = new LoopbackClusterTransport.Hub();
+        List<ClusterEvent> received = new CopyOnWriteArrayList<>();
+        LoopbackClusterTransport a = new LoopbackClusterTransport(hub);
+        LoopbackClusterTransport b = new LoopbackClusterTransport(hub);
+        b.subscribe(received::add);
+
+        // When
+        a.publish(EVENT);
+        a.close();
+        b.close();
+
+        // Then
+        assertEquals(List.of(EVENT), received);
+    }
+
+    @Test
+    @DisplayName("Deve isolar transportes criados sem hub explícito")
+    void shouldIsolateTransportsWithDefaultHub() {
+        // Given
+        List<ClusterEvent> received = new CopyOnWriteArrayList<>();
+        LoopbackClusterTransport a = new LoopbackClusterTransport();
+        LoopbackClusterTransport b = new LoopbackClusterTransport();
+        b.subscribe(received::add);
+
+        // When
+        a.publish(EVENT);
+        a.close();
+        b.close();
+
+        // Then
+        assertTrue(received.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveLimit - Testes Unitários")
+class AdaptiveLimitTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve recusar aquisições acima do limite até uma vaga ser liberada")
+    void shouldRejectAboveLimit() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 1.5, 0.2, 100);
+
+        // When
+        int first = limit.tryAcquire();
+        int second = limit.tryAcquire();
+        int third = limit.tryAcquire();
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(-1, third);
+
+        limit.release();
+        assertEquals(2, limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Deve crescer com latência estável e saturação, respeitando o máximo")
+    void shouldGrowWithStableLatency() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(10, 5, 40, 1.5, 0.2, 100);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(10 * MILLI, limit.getLimit());
+        }
+
+        // Then
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Deve encolher quando a latência sobe, sem passar do mínimo")
+    void shouldShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(100, 5, 200, 1.5, 0.2, 600);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, 100);
+        }
+        int before = limit.getLimit();
+
+        // When - banco ficou 10x mais lento
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(100 * MILLI, limit.getLimit());
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < before / 3, "limite deveria ter caído de " + before + ", ficou " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 5);
+    }
+
+    @Test
+    @DisplayName("Não deve mudar o limite quando a partição não está saturada")
+    void shouldIgnoreSamplesWhenNotSaturated() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(20, 5, 200, 1.5, 0.2, 100);
+        limit.onSample(10 * MILLI, 20);
+        int before = limit.getLimit();
+
+        // When - poucas requisições em voo, mesmo lentas
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(500 * MILLI, 2);
+        }
+
+        // Then
+        assertEquals(before, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Deve encolher com 401 lentos e ignorar 401 rápidos")
+    void shouldShrinkOnSlowUnauthorizedAndIgnoreFastOnes() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(100, 5, 200, 1.5, 0.2, 600);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, 100);
+        }
+        int before = limit.getLimit();
+
+        // When - recusas rápidas não mexem no limite
+        for (int i = 0; i < 30; i++) {
+            limit.tryAcquire();
+            limit.releaseIfSlow(MILLI / 10, limit.getLimit());
+        }
+        int afterFast = limit.getLimit();
+        // Carga do usuário estourando o tempo: 401 lentos
+        for (int i = 0; i < 30; i++) {
+            limit.tryAcquire();
+            limit.releaseIfSlow(100 * MILLI, limit.getLimit());
+        }
+
+        // Then
+        assertEquals(before, afterFast);
+        assertTrue(limit.getLimit() < before / 3, "limite deveria ter caído de " + before + ", ficou " + limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedMaps - Testes Unitários")
+class BoundedMapsTest {
+
+    @Test
+    @DisplayName("Deve remover só as expiradas quando elas bastam para abrir espaço")
+    void shouldRemoveOnlyExpiredWhenEnough() {
+        // Given - 100 entradas, 30 expiradas (valor negativo)
+        Map<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i < 30 ? -1 : 1);
+        }
+
+        // When
+        int dropped = BoundedMaps.makeRoom(map, 100, value -> value < 0);
+
+        // Then
+        assertEquals(0, dropped);
+        assertEquals(70, map.size());
+        assertFalse(map.containsValue(-1));
+    }
+
+    @Test
+    @DisplayName("Deve descartar entradas válidas até 90% do limite quando não há expiradas suficientes")
+    void shouldDropLiveEntriesDownToNinetyPercent() {
+        // Given
+        Map<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i < 4 ? -1 : 1);
+        }
+
+        // When
+        int dropped = BoundedMaps.makeRoom(map, 100, value -> value < 0);
+
+        // Then
+        assertEquals(6, dropped);
+        assertEquals(90, map.size());
+        assertFalse(map.containsValue(-1));
+    }
+
+    @Test
+    @DisplayName("Deve passar cada entrada descartada pela função de remoção")
+    void shouldRemoveThroughCallback() {
+        // Given
+        Map<String, Integer> map = new ConcurrentHashMap<>(Map.of("a", -1, "b", 1, "c", 1));
+        List<String> removed = new ArrayList<>();
+
+        // When
+        int dropped = BoundedMaps.makeRoom(map, 1, value -> value < 0, (key, value) -> {
+            removed.add(key);
+            map.remove(key, value);
+        });
+
+        // Then
+        assertEquals(1, dropped);
+        assertEquals(2, removed.size());
+        assertTrue(removed.contains("a"));
+        assertEquals(1, map.size());
+    }
+}
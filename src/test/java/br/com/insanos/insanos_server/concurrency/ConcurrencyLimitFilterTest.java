@@ -0,0 +1,190 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter - Testes Unitários")
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setPartitions(List.of(
+            partition("login", "/api/auth/login", List.of(), 1),
+            partition("reads", "/api/**", List.of("GET"), 1)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter();
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando a partição está cheia")
+    void shouldRejectWhenPartitionIsFull() throws Exception {
+        // Given - a segunda requisição chega enquanto a primeira ainda está em andamento
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> {
+            filter.doFilter(request("POST", "/api/auth/login"), nested, new MockFilterChain());
+        };
+
+        // When
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/auth/login"), first, chain);
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(503, nested.getStatus());
+        assertEquals("1", nested.getHeader("Retry-After"));
+        assertTrue(nested.getContentAsString().contains("Service Unavailable"));
+        assertEquals(1.0, meterRegistry.get("http.concurrency.rejected").tag("partition", "login").counter().count());
+        assertEquals(0.0, meterRegistry.get("http.concurrency.inflight").tag("partition", "login").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve isolar as partições entre si")
+    void shouldIsolatePartitions() throws Exception {
+        // Given - login em andamento ocupa toda a partição de login
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> {
+            filter.doFilter(request("GET", "/api/auth/me"), read, new MockFilterChain());
+            // POST em /api/** não casa com nenhuma partição e passa direto
+            filter.doFilter(request("POST", "/api/auth/register"), write, new MockFilterChain());
+        };
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(200, read.getStatus());
+        assertEquals(200, write.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando a requisição lança exceção")
+    void shouldReleaseSlotOnException() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("falha");
+        };
+
+        // When
+        assertThrows(IllegalStateException.class,
+            () -> filter.doFilter(request("GET", "/api/auth/me"), new MockHttpServletResponse(), failing));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/auth/me"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Não deve usar como amostra 429 nem 401 rápidos")
+    void shouldIgnoreFastRejections() throws Exception {
+        // Given - média longa de 1 s: qualquer 401 deste teste é rápido
+        AdaptiveLimit login = limitOf(0);
+        ReflectionTestUtils.setField(login, "longRttNanos", 1e9);
+        FilterChain tooManyRequests = (request, response) -> ((MockHttpServletResponse) response).setStatus(429);
+        FilterChain unauthorized = (request, response) -> ((MockHttpServletResponse) response).setStatus(401);
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), tooManyRequests);
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), unauthorized);
+
+        // Then
+        assertEquals(1e9, longRttOf(login));
+        assertEquals(0, login.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Deve usar como amostra 401 lentos e respostas 5xx")
+    void shouldSampleSlowUnauthorizedAndServerErrors() throws Exception {
+        // Given - média longa de 1 µs: o 401 de 5 ms é lento
+        AdaptiveLimit login = limitOf(0);
+        ReflectionTestUtils.setField(login, "longRttNanos", 1_000.0);
+        FilterChain slowUnauthorized = (request, response) -> {
+            sleep(5);
+            ((MockHttpServletResponse) response).setStatus(401);
+        };
+        FilterChain serverError = (request, response) -> ((MockHttpServletResponse) response).setStatus(500);
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), slowUnauthorized);
+        double afterUnauthorized = longRttOf(login);
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), serverError);
+
+        // Then
+        assertTrue(afterUnauthorized > 1_000.0);
+        assertNotEquals(afterUnauthorized, longRttOf(login));
+        assertEquals(0, login.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Não deve limitar quando desativado")
+    void shouldNotLimitWhenDisabled() throws Exception {
+        // Given
+        ConcurrencyLimitProperties properties = (ConcurrencyLimitProperties) ReflectionTestUtils.getField(filter, "properties");
+        properties.setEnabled(false);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> {
+            filter.doFilter(request("POST", "/api/auth/login"), nested, new MockFilterChain());
+        };
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(200, nested.getStatus());
+    }
+
+    private AdaptiveLimit limitOf(int index) {
+        List<?> partitions = (List<?>) ReflectionTestUtils.getField(filter, "partitions");
+        return (AdaptiveLimit) ReflectionTestUtils.invokeMethod(partitions.get(index), "limit");
+    }
+
+    private static double longRttOf(AdaptiveLimit limit) {
+        return ((Number) ReflectionTestUtils.getField(limit, "longRttNanos")).doubleValue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static ConcurrencyLimitProperties.Partition partition(String name, String pattern, List<String> methods, int limit) {
+        ConcurrencyLimitProperties.Partition partition = new ConcurrencyLimitProperties.Partition();
+        partition.setName(name);
+        partition.setPattern(pattern);
+        partition.setMethods(methods);
+        partition.setInitialLimit(limit);
+        partition.setMinLimit(limit);
+        partition.setMaxLimit(limit);
+        return partition;
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.insanos.insanos_server.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight - Testes Unitários")
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única carga para chamadas concorrentes da mesma chave")
+    void shouldShareOneLoadAcrossConcurrentCallers() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            await(release);
+            return key.toUpperCase();
+        };
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("ana", loader, TIMEOUT)));
+        }
+        waitUntil(() -> singleFlight.getSharedCount() == 19);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("ANA", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o erro da carga para todos e tentar de novo na próxima chamada")
+    void shouldPropagateErrorToAllWaiters() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("banco fora do ar");
+        Function<String, String> failingLoader = key -> {
+            await(release);
+            throw failure;
+        };
+
+        // When
+        Future<String> leader = executor.submit(() -> singleFlight.execute("ana", failingLoader, TIMEOUT));
+        waitUntil(() -> singleFlight.inFlightCount() == 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("ana", failingLoader, TIMEOUT));
+        waitUntil(() -> singleFlight.getSharedCount() == 1);
+        release.countDown();
+
+        // Then
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderError.getCause());
+        assertSame(failure, followerError.getCause());
+        assertEquals("ok", singleFlight.execute("ana", key -> "ok", TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("Deve estourar o timeout só para quem espera, sem cancelar a carga do líder")
+    void shouldTimeOutWaitersOnly() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("ana", key -> {
+            await(release);
+            return "valor";
+        }, TIMEOUT));
+        waitUntil(() -> singleFlight.inFlightCount() == 1);
+
+        // When & Then
+        assertThrows(SingleFlight.WaitTimeoutException.class,
+            () -> singleFlight.execute("ana", key -> "outro", Duration.ofMillis(20)));
+        release.countDown();
+        assertEquals("valor", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve iniciar nova carga depois de forget, mesmo com a anterior em andamento")
+    void shouldStartNewLoadAfterForget() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> singleFlight.execute("ana", key -> {
+            await(release);
+            return "antigo";
+        }, TIMEOUT));
+        waitUntil(() -> singleFlight.inFlightCount() == 1);
+
+        // When
+        singleFlight.forget("ana");
+        String fresh = singleFlight.execute("ana", key -> "novo", TIMEOUT);
+        release.countDown();
+
+        // Then
+        assertEquals("novo", fresh);
+        assertEquals("antigo", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.getSharedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida a tempo");
+            Thread.sleep(1);
+        }
+    }
+}
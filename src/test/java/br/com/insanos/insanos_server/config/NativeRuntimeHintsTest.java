@@ -0,0 +1,58 @@
+package br.com.insanos.insanos_server.config;
+
+import br.com.insanos.insanos_server.dto.UserSummary;
+import br.com.insanos.insanos_server.logging.CountingAsyncAppender;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NativeRuntimeHints - Testes Unitários")
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Deve registrar todas as classes que o jjwt carrega por nome e elas devem existir")
+    void shouldRegisterExistingJjwtTypes() throws Exception {
+        for (String type : NativeRuntimeHints.JJWT_REFLECTIVE_TYPES) {
+            // Given - a classe precisa existir no classpath (detecta renomeações ao atualizar o jjwt)
+            Class<?> clazz = Class.forName(type);
+
+            // Then
+            assertTrue(RuntimeHintsPredicates.reflection().onType(clazz).test(hints), type);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar os arquivos de ServiceLoader do jjwt")
+    void shouldRegisterJjwtServiceFiles() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+        assertNotNull(getClass().getClassLoader().getResource("META-INF/services/io.jsonwebtoken.io.Deserializer"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar projeção JPQL, appender e proxies JDBC")
+    void shouldRegisterProjectionAppenderAndJdbcProxies() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(UserSummary.class.getConstructor(
+            Long.class, String.class, String.class, LocalDateTime.class, boolean.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CountingAsyncAppender.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class).test(hints));
+    }
+}
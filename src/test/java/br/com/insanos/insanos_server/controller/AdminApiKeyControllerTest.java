@@ -0,0 +1,218 @@
+package br.com.insanos.insanos_server.controller;
+
+import br.com.insanos.insanos_server.model.ApiKey;
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.ApiKeyRepository;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyAuthFilter;
+import br.com.insanos.insanos_server.security.apikey.ApiKeyIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("AdminApiKeyController - Testes de Integração")
+class AdminApiKeyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApiKeyIndex apiKeyIndex;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("POST /api/admin/api-keys - Deve criar chave guardando só o hash do segredo")
+    void shouldMintKeyStoringOnlyHash() throws Exception {
+        // When
+        JsonNode minted = mint("admin", "relatorios", "user");
+
+        // Then
+        String key = minted.get("key").asText();
+        String storedHash = apiKeyRepository.findById(minted.get("id").asLong()).orElseThrow().getSecretHash();
+        assertTrue(key.startsWith("ik_" + minted.get("prefix").asText() + "_"));
+        assertFalse(key.contains(storedHash));
+        assertEquals(64, storedHash.length());
+
+        mockMvc.perform(get("/api/admin/api-keys"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.prefix == '" + minted.get("prefix").asText() + "')].name").value("relatorios"))
+                .andExpect(jsonPath("$[0].key").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("POST /api/admin/api-keys - Deve recusar roles que o usuário não tem")
+    void shouldRejectRolesBeyondOwner() throws Exception {
+        mockMvc.perform(post("/api/admin/api-keys")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"insanos\",\"name\":\"job\",\"roles\":[\"admin\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Requisição inválida"));
+    }
+
+    @Test
+    @DisplayName("X-API-Key - Deve autenticar só com as roles da chave")
+    void shouldAuthenticateWithScopedRoles() throws Exception {
+        // Given - o admin tem ROLE_ADMIN, mas a chave só ROLE_USER
+        String key = mintAsAdmin("admin", "somente-leitura", "user").get("key").asText();
+
+        // When / Then
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/test/admin").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/auth/me").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("admin"))
+                .andExpect(jsonPath("$.roles.length()").value(1))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("X-API-Key - Deve rejeitar segredo errado e chave revogada")
+    void shouldRejectWrongSecretAndRevokedKey() throws Exception {
+        // Given
+        JsonNode minted = mintAsAdmin("insanos", "job-noturno", "user");
+        String key = minted.get("key").asText();
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isOk());
+
+        // When / Then - segredo adulterado
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key + "x"))
+                .andExpect(status().isUnauthorized());
+
+        // When / Then - revogada: vale na hora nesta instância
+        mockMvc.perform(delete("/api/admin/api-keys/" + minted.get("id").asLong())
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isUnauthorized());
+        assertNotNull(apiKeyRepository.findById(minted.get("id").asLong()).orElseThrow().getRevokedAt());
+    }
+
+    @Test
+    @DisplayName("X-API-Key - Deve rejeitar chave de usuário desativado")
+    void shouldRejectKeyOfDisabledOwner() throws Exception {
+        // Given
+        User owner = userRepository.save(newUser("apikeyowner"));
+        String key = mintAsAdmin("apikeyowner", "job", "user").get("key").asText();
+
+        // When
+        mockMvc.perform(patch("/api/admin/users/" + owner.getId())
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":false}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("X-API-Key - Não deve autenticar como usuário recriado com o username do dono removido")
+    void shouldRejectKeyAfterOwnerIsDeletedAndRecreated() throws Exception {
+        // Given
+        User owner = userRepository.save(newUser("apikeyreused"));
+        JsonNode minted = mintAsAdmin("apikeyreused", "job", "user");
+        String key = minted.get("key").asText();
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isOk());
+
+        // When - dono removido e outro usuário registrado com o mesmo username
+        mockMvc.perform(delete("/api/admin/users/" + owner.getId())
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        User successor = userRepository.save(newUser("apikeyreused"));
+
+        // Then - a remoção revogou a chave
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isUnauthorized());
+        ApiKey apiKey = apiKeyRepository.findById(minted.get("id").asLong()).orElseThrow();
+        assertNotNull(apiKey.getRevokedAt());
+        assertEquals(owner.getId(), apiKey.getUserId());
+        assertNotEquals(owner.getId(), successor.getId());
+
+        // Then - mesmo sem a revogação, o id do dono não confere com o do novo usuário
+        apiKey.setRevokedAt(null);
+        apiKeyRepository.save(apiKey);
+        apiKeyIndex.evict(apiKey.getPrefix());
+        mockMvc.perform(get("/api/test/user").header(ApiKeyAuthFilter.API_KEY_HEADER, key))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("DELETE /api/admin/api-keys/{id} - Deve retornar 404 para chave inexistente")
+    void shouldReturn404ForUnknownKey() throws Exception {
+        mockMvc.perform(delete("/api/admin/api-keys/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("POST /api/admin/api-keys - Deve exigir ROLE_ADMIN")
+    void shouldRequireAdmin() throws Exception {
+        mockMvc.perform(post("/api/admin/api-keys")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"insanos\",\"name\":\"job\",\"roles\":[\"user\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("hash-irrelevante");
+        user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        return user;
+    }
+
+    private JsonNode mint(String username, String name, String role) throws Exception {
+        String body = mockMvc.perform(post("/api/admin/api-keys")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"name\":\"" + name + "\",\"roles\":[\"" + role + "\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode mintAsAdmin(String username, String name, String role) throws Exception {
+        String body = mockMvc.perform(post("/api/admin/api-keys")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"name\":\"" + name + "\",\"roles\":[\"" + role + "\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,377 @@
+package br.com.insanos.insanos_server.controller;
+
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.search.UsernameIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static br.com.insanos.insanos_server.support.QueryCountMatchers.maxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("AdminUserController - Testes de Integração")
+class AdminUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("POST /api/admin/users/import - Deve importar CSV e reportar erros por linha")
+    void shouldImportCsvWithPerRowErrors() throws Exception {
+        String csv = """
+                username,email,password,roles
+                csvuser1,csvuser1@test.com,password123,
+                csvuser2,csvuser2@test.com,"pass,word123",admin|user
+                x,invalid-email,123
+                csvuser1,other@test.com,password123
+                insanos,insanos2@test.com,password123
+                """;
+
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType(AdminUserController.TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Erro: Username já está em uso!"))
+                .andExpect(jsonPath("$.errors[2].username").value("insanos"));
+
+        User admin = userRepository.findByUsername("csvuser2").orElseThrow();
+        assertTrue(passwordEncoder.matches("pass,word123", admin.getPassword()));
+        assertTrue(admin.getRoles().contains("ROLE_ADMIN"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("POST /api/admin/users/import - Deve importar NDJSON em lotes JDBC")
+    void shouldImportNdjsonInBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append("{\"username\":\"ndjson").append(i)
+                  .append("\",\"email\":\"ndjson").append(i)
+                  .append("@test.com\",\"password\":\"password123\"}\n");
+        }
+
+        // 20 usuários: checagens de duplicados + sequência + 1 lote de users + 1 lote de roles
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType(AdminUserController.APPLICATION_NDJSON)
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(20))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(maxStatements(8));
+
+        assertTrue(userRepository.existsByUsername("ndjson19"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("POST /api/admin/users/import - Deve negar acesso sem ROLE_ADMIN")
+    void shouldDenyImportWithoutAdminRole() throws Exception {
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType(AdminUserController.TEXT_CSV)
+                        .content("someone,someone@test.com,password123"))
+                .andExpect(status().isForbidden());
+
+        assertFalse(userRepository.existsByUsername("someone"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users/export - Deve exportar NDJSON com uma única query")
+    void shouldExportNdjsonWithSingleQuery() throws Exception {
+        // When
+        String body = mockMvc.perform(get("/api/admin/users/export").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(AdminUserController.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""))
+                .andExpect(maxStatements(1))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(userRepository.count(), lines.length);
+
+        JsonNode admin = null;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertFalse(node.has("password"));
+            if ("admin".equals(node.get("username").asText())) {
+                admin = node;
+            }
+        }
+        assertNotNull(admin);
+        assertEquals(2, admin.get("roles").size());
+        assertTrue(admin.get("enabled").asBoolean());
+        assertNotNull(admin.get("createdAt").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users/export - Deve exportar CSV com cabeçalho")
+    void shouldExportCsvWithHeader() throws Exception {
+        // When
+        String body = mockMvc.perform(get("/api/admin/users/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(AdminUserController.TEXT_CSV))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals("id,username,email,roles,createdAt,enabled", lines[0]);
+        assertEquals(userRepository.count() + 1, lines.length);
+        assertTrue(body.contains(",insanos,user@insanos.com,ROLE_USER,"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("GET /api/admin/users/export - Deve negar acesso sem ROLE_ADMIN")
+    void shouldDenyExportWithoutAdminRole() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users - Deve paginar por keyset sem expor senha")
+    void shouldPageUsersByKeyset() throws Exception {
+        // When - primeira página
+        String first = mockMvc.perform(get("/api/admin/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.users[0].roles").isArray())
+                .andExpect(jsonPath("$.nextAfterId").isNumber())
+                .andExpect(maxStatements(2))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode firstPage = objectMapper.readTree(first);
+        long nextAfterId = firstPage.get("nextAfterId").asLong();
+        assertEquals(firstPage.get("users").get(0).get("id").asLong(), nextAfterId);
+
+        // Then - segunda página começa depois do último id
+        String second = mockMvc.perform(get("/api/admin/users")
+                        .param("limit", "1")
+                        .param("afterId", String.valueOf(nextAfterId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(objectMapper.readTree(second).get("users").get(0).get("id").asLong() > nextAfterId);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users - Deve filtrar por role")
+    void shouldFilterUsersByRole() throws Exception {
+        // When
+        String body = mockMvc.perform(get("/api/admin/users").param("role", "admin"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        JsonNode users = objectMapper.readTree(body).get("users");
+        boolean adminFound = false;
+        for (JsonNode user : users) {
+            assertTrue(user.get("roles").toString().contains("ROLE_ADMIN"));
+            adminFound |= "admin".equals(user.get("username").asText());
+        }
+        assertTrue(adminFound);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users - Deve combinar filtros de username, enabled e data de criação")
+    void shouldCombineFilters() throws Exception {
+        mockMvc.perform(get("/api/admin/users").param("username", "insa").param("enabled", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].username").value("insanos"))
+                .andExpect(jsonPath("$.users[0].email").value("user@insanos.com"))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+
+        mockMvc.perform(get("/api/admin/users").param("username", "insanos").param("enabled", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(0));
+
+        mockMvc.perform(get("/api/admin/users").param("createdFrom", "2999-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users - Deve rejeitar limit acima do máximo")
+    void shouldRejectLimitAboveMaximum() throws Exception {
+        mockMvc.perform(get("/api/admin/users").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /api/admin/users/suggest - Deve sugerir usernames sem consultar o banco")
+    void shouldSuggestUsernamesFromIndex() throws Exception {
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "adm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("admin"))
+                .andExpect(maxStatements(0));
+
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "adm").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("DELETE /api/admin/users/{id} - Deve remover usuário e atualizar sugestões")
+    void shouldDeleteUserAndUpdateSuggestions() throws Exception {
+        // Given
+        User user = new User();
+        user.setUsername("suggestme");
+        user.setEmail("suggestme@test.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.getRoles().add("ROLE_USER");
+        Long id = userRepository.save(user).getId();
+        usernameIndex.add("suggestme");
+
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "suggest"))
+                .andExpect(jsonPath("$[0]").value("suggestme"));
+
+        // When
+        mockMvc.perform(delete("/api/admin/users/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Usuário removido com sucesso!"));
+
+        // Then
+        assertFalse(userRepository.existsById(id));
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "suggest"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(delete("/api/admin/users/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/admin/users/{id} - Deve negar na hora o token de usuário desativado")
+    void shouldRejectTokenOfDisabledUser() throws Exception {
+        // Given
+        Long id = saveUser("disableme");
+        String token = login("disableme");
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // Segunda leitura já vem do cache de principals
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(0));
+
+        // When
+        mockMvc.perform(patch("/api/admin/users/" + id)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Usuário atualizado com sucesso!"));
+
+        // Then
+        assertFalse(userRepository.findById(id).orElseThrow().isEnabled());
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(patch("/api/admin/users/999999999")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":false}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/admin/users/{id} - Deve aplicar novas roles sem esperar o cache expirar")
+    void shouldApplyRoleChangeImmediately() throws Exception {
+        // Given
+        Long id = saveUser("promoteme");
+        String token = login("promoteme");
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "prom")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        // When
+        mockMvc.perform(patch("/api/admin/users/" + id)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roles\":[\"admin\",\"user\"]}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/admin/users/suggest").param("prefix", "prom")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/users/{id}/revoke-tokens - Deve invalidar tokens já emitidos")
+    void shouldRevokeIssuedTokens() throws Exception {
+        // Given
+        Long id = saveUser("revokeme");
+        String token = login("revokeme");
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(post("/api/admin/users/" + id + "/revoke-tokens").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Tokens revogados com sucesso!"));
+
+        // Then
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + login("revokeme")))
+                .andExpect(status().isOk());
+    }
+
+    private Long saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.getRoles().add("ROLE_USER");
+        return userRepository.save(user).getId();
+    }
+
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
@@ -16,18 +16,23 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashSet;
 import java.util.Set;
 
+import static br.com.insanos.insanos_server.support.QueryCountMatchers.maxStatements;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@DisabledInAotMode // @MockBean não é suportado no processamento AOT (mvn -PnativeTest)
 @DisplayName("AuthController - Testes de Integração")
 class AuthControllerTest {
 
@@ -188,14 +193,25 @@ class AuthControllerTest {
     @DisplayName("GET /api/auth/check - Deve retornar 401 sem autenticação")
     void shouldReturn401WithoutAuthentication() throws Exception {
         mockMvc.perform(get("/api/auth/check"))
-                .andExpect(status().isUnauthorized());
+                .andExpect(status().isUnauthorized())
+                .andExpect(maxStatements(0));
     }
 
     @Test
     @DisplayName("GET /api/auth/me - Deve retornar 401 sem autenticação")
     void shouldReturn401ForMeWithoutAuth() throws Exception {
         mockMvc.perform(get("/api/auth/me"))
-                .andExpect(status().isUnauthorized());
+                .andExpect(status().isUnauthorized())
+                .andExpect(maxStatements(0));
     }
-}
 
+    @Test
+    @DisplayName("POST /api/auth/logout - Deve retornar 401 sem autenticação")
+    void shouldReturn401ForLogoutWithoutAuth() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(maxStatements(0));
+
+        verify(authService, never()).logout(any());
+    }
+}
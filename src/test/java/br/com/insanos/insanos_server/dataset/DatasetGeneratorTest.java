@@ -0,0 +1,82 @@
+package br.com.insanos.insanos_server.dataset;
+
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:datasetdb",
+    "insanos.dataset.users=250",
+    "insanos.dataset.batch-size=100",
+    "insanos.dataset.admin-every=10",
+    "insanos.dataset.disabled-every=50"
+})
+@DirtiesContext
+@DisplayName("DatasetGenerator - Testes de Integração")
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve gerar usuários com distribuição de roles e senha reutilizável")
+    void shouldGenerateUsersWithRoleDistribution() {
+        // Then - gerado na inicialização
+        assertEquals(250, count("SELECT COUNT(*) FROM users WHERE username LIKE 'bench%'"));
+        assertEquals(250, count("SELECT COUNT(*) FROM user_roles r JOIN users u ON u.id = r.user_id "
+            + "WHERE u.username LIKE 'bench%' AND r.role = 'ROLE_USER'"));
+        assertTrue(count("SELECT COUNT(*) FROM user_roles r JOIN users u ON u.id = r.user_id "
+            + "WHERE u.username LIKE 'bench%' AND r.role = 'ROLE_ADMIN'") >= 24);
+        assertEquals(5, count("SELECT COUNT(*) FROM users WHERE username LIKE 'bench%' AND enabled = FALSE"));
+
+        User user = userRepository.findByUsername("bench42").orElseThrow();
+        assertTrue(passwordEncoder.matches("bench123", user.getPassword()));
+        assertTrue(user.getRoles().contains("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar snapshot e restaurar o banco a partir dele")
+    void shouldSnapshotAndRestore() throws Exception {
+        // Given
+        Path file = tempDir.resolve("dataset.zip");
+        datasetGenerator.snapshot(file);
+        assertTrue(Files.size(file) > 0);
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+
+        // When
+        datasetGenerator.restore(file);
+
+        // Then
+        assertEquals(250, count("SELECT COUNT(*) FROM users WHERE username LIKE 'bench%'"));
+        assertTrue(userRepository.findByUsername("bench0").isPresent());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
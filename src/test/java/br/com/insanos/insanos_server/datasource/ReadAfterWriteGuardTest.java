@@ -0,0 +1,58 @@
+package br.com.insanos.insanos_server.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadAfterWriteGuard - Testes Unitários")
+class ReadAfterWriteGuardTest {
+
+    private ReadAfterWriteGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ReadAfterWriteGuard();
+    }
+
+    @Test
+    @DisplayName("Deve fixar no primário só o usuário escrito")
+    void shouldPinOnlyWrittenUser() {
+        // When
+        guard.markWritten("ana");
+
+        // Then
+        assertTrue(guard.isRecentlyWritten("ana"));
+        assertFalse(guard.isRecentlyWritten("bruno"));
+        assertTrue(guard.readOnPrimaryIfRecentlyWritten("ana", ReadAfterWriteGuard::isPrimaryRequired));
+        assertFalse(guard.readOnPrimaryIfRecentlyWritten("bruno", ReadAfterWriteGuard::isPrimaryRequired));
+        assertFalse(ReadAfterWriteGuard.isPrimaryRequired());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a réplica depois do atraso máximo")
+    void shouldExpireAfterMaxLag() {
+        // Given
+        ReflectionTestUtils.setField(guard, "maxLag", Duration.ZERO);
+
+        // When
+        guard.markWritten("ana");
+
+        // Then
+        assertFalse(guard.isRecentlyWritten("ana"));
+    }
+
+    @Test
+    @DisplayName("Deve fixar todas as leituras no primário depois de escrita em massa")
+    void shouldPinEveryoneAfterBulkWrite() {
+        // When
+        guard.markBulkWrite();
+
+        // Then
+        assertTrue(guard.isRecentlyWritten("qualquer"));
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.insanos.insanos_server.datasource;
+
+import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas instâncias H2 fazem o papel de primário e réplica. A "replicação" é uma cópia completa
+ * (SCRIPT/RUNSCRIPT) feita sob demanda; o que for escrito depois da cópia simula o atraso.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+    "insanos.datasource.replica.url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+    "insanos.datasource.replica.username=sa",
+    "insanos.principal-cache.enabled=false"
+})
+@DisplayName("ReadWriteRoutingDataSource - Testes de Integração")
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadAfterWriteGuard readAfterWriteGuard;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class ReplicaSeed {
+
+        // Antes do índice de usernames, que já lê da réplica no ApplicationReadyEvent
+        @EventListener(ApplicationReadyEvent.class)
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        void replicate() throws SQLException {
+            ReadWriteRoutingDataSourceTest.replicate();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicate();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o principal da réplica em transação readOnly")
+    void shouldLoadPrincipalFromReplica() throws SQLException {
+        // Given - alteração ainda não replicada (usuário diferente do outro teste: o guard guarda escritas)
+        String replicated = ((UserDetailsImpl) userDetailsService.loadUserByUsername("admin")).getEmail();
+        updateEmailOnPrimary("admin", "outro@insanos.com");
+
+        // When
+        UserDetailsImpl principal = (UserDetailsImpl) userDetailsService.loadUserByUsername("admin");
+
+        // Then
+        assertEquals(replicated, principal.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário logo depois de uma escrita do usuário")
+    void shouldReadFromPrimaryAfterWrite() throws SQLException {
+        // Given
+        updateEmailOnPrimary("insanos", "novo@insanos.com");
+
+        // When
+        readAfterWriteGuard.markWritten("insanos");
+        UserDetailsImpl principal = (UserDetailsImpl) userDetailsService.loadUserByUsername("insanos");
+
+        // Then
+        assertEquals("novo@insanos.com", principal.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve enviar transações de escrita para o primário")
+    void shouldRouteWritesToPrimary() throws SQLException {
+        // Given
+        User user = new User();
+        user.setUsername("routed");
+        user.setEmail("routed@test.com");
+        user.setPassword("password123");
+        user.getRoles().add("ROLE_USER");
+
+        // When
+        userRepository.save(user);
+
+        // Then - o registro existe só no primário
+        assertEquals(1, countUsers(PRIMARY_URL, "routed"));
+        assertEquals(0, countUsers(REPLICA_URL, "routed"));
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        assertEquals(Boolean.TRUE, readWrite.execute(status -> userRepository.findByUsername("routed").isPresent()));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals(Boolean.FALSE, readOnly.execute(status -> userRepository.findByUsername("routed").isPresent()));
+    }
+
+    // Copia o primário inteiro para a réplica
+    static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static void updateEmailOnPrimary(String username, String email) throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.executeUpdate("UPDATE users SET email = '" + email + "' WHERE username = '" + username + "'");
+        }
+    }
+
+    private static int countUsers(String url, String username) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM users WHERE username = '" + username + "'")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.insanos.insanos_server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Suíte de carga ponta a ponta contra o servidor em processo (porta aleatória, H2 em memória).
+ * Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.threads=32 -Dloadtest.durationSeconds=30
+ * </pre>
+ *
+ * O relatório fica em target/loadtest/report.json.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.br.com.insanos=ERROR",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "insanos.db.query-count.header-enabled=false"
+})
+@DisplayName("Auth - Teste de Carga")
+class AuthLoadTest {
+
+    private static final String PASSWORD = "loadtest123";
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 10));
+    private static final long MAX_REQUESTS = Long.getLong("loadtest.maxRequests", Long.MAX_VALUE);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Carga: registro, login e polling de /me")
+    void runLoadSuite() throws Exception {
+        LoadRunner runner = new LoadRunner(client);
+        LoadReport report = new LoadReport();
+
+        // 1. Onda de registros - cria a população usada pelos logins (só os que voltaram 201)
+        List<String> registered = Collections.synchronizedList(new ArrayList<>());
+        report.add(runner.run("register-wave", THREADS, DURATION, MAX_REQUESTS, i -> {
+            String username = "lt" + i;
+            return new LoadRunner.Call(post("/api/auth/register", Map.of(
+                "username", username,
+                "email", username + "@loadtest.com",
+                "password", PASSWORD)), 201, () -> registered.add(username));
+        }));
+        assertFalse(registered.isEmpty(), "Nenhum registro bem-sucedido");
+        List<String> usernames = List.copyOf(registered);
+
+        // 2. Rajada de logins sobre os usuários recém-registrados
+        report.add(runner.run("login-burst", THREADS, DURATION, MAX_REQUESTS,
+            i -> new LoadRunner.Call(post("/api/auth/login", Map.of(
+                "username", usernames.get((int) (i % usernames.size())),
+                "password", PASSWORD)), 200)));
+
+        // 3. Polling de /me: 80% tokens válidos, 10% expirados, 10% lixo
+        List<String> validTokens = loginTokens(usernames.subList(0, Math.min(usernames.size(), 50)));
+        String expiredToken = expiredToken(usernames.get(0));
+        report.add(runner.run("me-polling-mixed", THREADS, DURATION, MAX_REQUESTS, i -> {
+            int slot = (int) (i % 10);
+            if (slot == 8) {
+                return new LoadRunner.Call(get("/api/auth/me", expiredToken), 401);
+            }
+            if (slot == 9) {
+                return new LoadRunner.Call(get("/api/auth/me", "garbage." + i), 401);
+            }
+            return new LoadRunner.Call(get("/api/auth/me", validTokens.get((int) (i % validTokens.size()))), 200);
+        }));
+
+        Path file = report.write(Path.of("target", "loadtest"));
+        report.print(System.out);
+        System.out.println("Relatório: " + file.toAbsolutePath());
+
+        for (LoadRunner.Result result : report.results()) {
+            assertEquals(0, result.errors(), "Erros de conexão no cenário " + result.scenario());
+        }
+    }
+
+    private List<String> loginTokens(List<String> usernames) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (String username : usernames) {
+            HttpResponse<String> response = client.send(
+                post("/api/auth/login", Map.of("username", username, "password", PASSWORD)),
+                HttpResponse.BodyHandlers.ofString());
+            JsonNode body = objectMapper.readTree(response.body());
+            if (response.statusCode() == 200) {
+                tokens.add(body.get("token").asText());
+            }
+        }
+        return tokens;
+    }
+
+    private String expiredToken(String username) {
+        Date past = new Date(System.currentTimeMillis() - 60_000);
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date(past.getTime() - 60_000))
+                .expiration(past)
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
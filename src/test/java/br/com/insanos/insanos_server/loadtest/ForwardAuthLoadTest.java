@@ -0,0 +1,97 @@
+package br.com.insanos.insanos_server.loadtest;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import br.com.insanos.insanos_server.security.forwardauth.ForwardAuthFilter;
+import br.com.insanos.insanos_server.security.token.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o forward-auth ({@code /internal/auth/verify}, filtro terminal) com {@code /api/auth/check}
+ * (cadeia do Spring Security + DispatcherServlet + controller + Jackson) para o mesmo token.
+ * Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=ForwardAuthLoadTest -Dloadtest.threads=32 -Dloadtest.durationSeconds=30
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.br.com.insanos=ERROR",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "insanos.db.query-count.header-enabled=false",
+    "insanos.forward-auth.enabled=true"
+})
+@DisplayName("Forward-auth x /api/auth/check - Teste de Carga")
+class ForwardAuthLoadTest {
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 10));
+    private static final long MAX_REQUESTS = Long.getLong("loadtest.maxRequests", Long.MAX_VALUE);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Carga: forward-auth deve sustentar mais req/s que /api/auth/check")
+    void forwardAuthShouldOutperformCheckEndpoint() throws Exception {
+        LoadRunner runner = new LoadRunner(client);
+        LoadReport report = new LoadReport();
+        String token = tokenService.issue((UserDetailsImpl) userDetailsService.loadUserByUsername("insanos"));
+
+        // Aquecimento dos dois caminhos antes de medir
+        runner.run("warmup-check", THREADS, DURATION.dividedBy(5), MAX_REQUESTS,
+            i -> new LoadRunner.Call(get("/api/auth/check", token), 200));
+        runner.run("warmup-verify", THREADS, DURATION.dividedBy(5), MAX_REQUESTS,
+            i -> new LoadRunner.Call(get(ForwardAuthFilter.VERIFY_PATH, token), 200));
+
+        LoadRunner.Result check = runner.run("auth-check", THREADS, DURATION, MAX_REQUESTS,
+            i -> new LoadRunner.Call(get("/api/auth/check", token), 200));
+        LoadRunner.Result verify = runner.run("forward-auth-verify", THREADS, DURATION, MAX_REQUESTS,
+            i -> new LoadRunner.Call(get(ForwardAuthFilter.VERIFY_PATH, token), 200));
+        report.add(check);
+        report.add(verify);
+
+        Path file = report.write(Path.of("target", "loadtest", "forward-auth"));
+        report.print(System.out);
+        System.out.println("Relatório: " + file.toAbsolutePath());
+
+        for (LoadRunner.Result result : report.results()) {
+            assertEquals(0, result.errors(), "Erros de conexão no cenário " + result.scenario());
+            assertEquals(0, result.unexpectedStatus(), "Status inesperado no cenário " + result.scenario());
+        }
+        assertTrue(verify.throughput() > check.throughput(),
+            "verify=" + verify.throughput() + " req/s, check=" + check.throughput() + " req/s");
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
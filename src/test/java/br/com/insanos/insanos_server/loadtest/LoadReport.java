@@ -0,0 +1,84 @@
+package br.com.insanos.insanos_server.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório JSON da execução: target/loadtest/report.json (última execução)
+ * e target/loadtest/report-&lt;epoch&gt;.json (histórico para comparar builds).
+ */
+final class LoadReport {
+
+    private final List<LoadRunner.Result> results = new ArrayList<>();
+
+    void add(LoadRunner.Result result) {
+        results.add(result);
+    }
+
+    List<LoadRunner.Result> results() {
+        return results;
+    }
+
+    Path write(Path directory) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (LoadRunner.Result result : results) {
+            Histogram h = result.latencyMicros();
+
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", h.getMean());
+            latency.put("p50", h.getValueAtPercentile(50));
+            latency.put("p90", h.getValueAtPercentile(90));
+            latency.put("p99", h.getValueAtPercentile(99));
+            latency.put("p999", h.getValueAtPercentile(99.9));
+            latency.put("max", h.getMaxValue());
+
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("name", result.scenario());
+            scenario.put("threads", result.threads());
+            scenario.put("requests", result.requests());
+            scenario.put("unexpectedStatus", result.unexpectedStatus());
+            scenario.put("errors", result.errors());
+            scenario.put("elapsedSeconds", result.elapsedSeconds());
+            scenario.put("throughputRps", result.throughput());
+            scenario.put("latencyMicros", latency);
+            scenarios.add(scenario);
+        }
+        report.put("scenarios", scenarios);
+
+        Files.createDirectories(directory);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path latest = directory.resolve("report.json");
+        mapper.writeValue(latest.toFile(), report);
+        mapper.writeValue(directory.resolve("report-" + System.currentTimeMillis() + ".json").toFile(), report);
+        return latest;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-22s %7s %9s %10s %9s %9s %9s %9s %6s%n",
+            "cenário", "threads", "reqs", "req/s", "p50(us)", "p99(us)", "p999(us)", "max(us)", "falhas");
+        for (LoadRunner.Result r : results) {
+            Histogram h = r.latencyMicros();
+            out.printf("%-22s %7d %9d %10.1f %9d %9d %9d %9d %6d%n",
+                r.scenario(), r.threads(), r.requests(), r.throughput(),
+                h.getValueAtPercentile(50), h.getValueAtPercentile(99), h.getValueAtPercentile(99.9),
+                h.getMaxValue(), r.unexpectedStatus() + r.errors());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.insanos.insanos_server.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Executa um cenário com N threads em loop fechado (cada thread espera a resposta
+ * antes de enviar a próxima) até o tempo ou o número máximo de requisições acabar.
+ */
+final class LoadRunner {
+
+    // onExpected roda quando a resposta tem o status esperado (ex.: guardar o usuário criado)
+    record Call(HttpRequest request, int expectedStatus, Runnable onExpected) {
+
+        Call(HttpRequest request, int expectedStatus) {
+            this(request, expectedStatus, null);
+        }
+    }
+
+    record Result(String scenario, int threads, long requests, long unexpectedStatus, long errors,
+                  double elapsedSeconds, Histogram latencyMicros) {
+
+        double throughput() {
+            return requests / elapsedSeconds;
+        }
+    }
+
+    private final HttpClient client;
+
+    LoadRunner(HttpClient client) {
+        this.client = client;
+    }
+
+    Result run(String scenario, int threads, Duration duration, long maxRequests, LongFunction<Call> calls)
+            throws Exception {
+
+        Recorder recorder = new Recorder(3);
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong unexpected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    long i;
+                    while (System.nanoTime() < deadline && (i = sequence.getAndIncrement()) < maxRequests) {
+                        Call call = calls.apply(i);
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(call.request(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != call.expectedStatus()) {
+                                unexpected.incrementAndGet();
+                            } else if (call.onExpected() != null) {
+                                call.onExpected().run();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.recordValue((System.nanoTime() - sent) / 1_000);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        Histogram histogram = recorder.getIntervalHistogram();
+        return new Result(scenario, threads, histogram.getTotalCount(), unexpected.get(), errors.get(),
+            elapsedSeconds, histogram);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.insanos.insanos_server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput da importação em massa comparado ao registro um a um via /api/auth/register.
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=UserImportLoadTest -Dloadtest.importRows=5000
+ * </pre>
+ *
+ * Resultado em target/loadtest/import-report.json.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.br.com.insanos=WARN",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("Importação em massa - Teste de Carga")
+class UserImportLoadTest {
+
+    private static final int IMPORT_ROWS = Integer.getInteger("loadtest.importRows", 1000);
+    private static final int REGISTER_ROWS = Integer.getInteger("loadtest.registerRows", 100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    @DisplayName("Carga: importação CSV vs. registros individuais")
+    void compareImportWithIndividualRegistration() throws Exception {
+        String adminToken = login("admin", "admin123");
+
+        // Baseline: um POST /api/auth/register por usuário
+        long start = System.nanoTime();
+        for (int i = 0; i < REGISTER_ROWS; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                        "username", "reg" + i, "email", "reg" + i + "@loadtest.com", "password", "password123"))))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode());
+        }
+        double registerSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Importação: um único POST com o CSV inteiro
+        StringBuilder csv = new StringBuilder("username,email,password\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append("imp").append(i).append(",imp").append(i).append("@loadtest.com,password123\n");
+        }
+
+        start = System.nanoTime();
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/admin/users/import"))
+                .header("Content-Type", "text/csv")
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        double importSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(200, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(IMPORT_ROWS, body.get("imported").asLong());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("registerRows", REGISTER_ROWS);
+        report.put("registerRowsPerSecond", REGISTER_ROWS / registerSeconds);
+        report.put("importRows", IMPORT_ROWS);
+        report.put("importRowsPerSecond", IMPORT_ROWS / importSeconds);
+        report.put("speedup", (IMPORT_ROWS / importSeconds) / (REGISTER_ROWS / registerSeconds));
+
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("import-report.json").toFile(), report);
+        System.out.println("Importação: " + report);
+    }
+
+    private String login(String username, String password) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                    Map.of("username", username, "password", password))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
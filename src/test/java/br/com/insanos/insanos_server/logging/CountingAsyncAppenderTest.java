@@ -0,0 +1,142 @@
+package br.com.insanos.insanos_server.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CountingAsyncAppender - Testes Unitários")
+class CountingAsyncAppenderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch firstEventTaken = new CountDownLatch(1);
+
+    private LoggerContext context;
+    private CountingAsyncAppender asyncAppender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("test");
+        logger.setAdditive(false);
+        startAsyncAppender(0);
+    }
+
+    private void startAsyncAppender(int discardingThreshold) {
+        if (asyncAppender != null) {
+            logger.detachAppender(asyncAppender);
+            asyncAppender.stop();
+        }
+
+        // Appender de destino lento: segura a thread do AsyncAppender até o teste liberar
+        AppenderBase<ILoggingEvent> blockingAppender = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                firstEventTaken.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blockingAppender.setContext(context);
+        blockingAppender.start();
+
+        asyncAppender = new CountingAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(2);
+        asyncAppender.setDiscardingThreshold(discardingThreshold);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(blockingAppender);
+        asyncAppender.start();
+        logger.addAppender(asyncAppender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        asyncAppender.stop();
+        context.stop();
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar eventos quando a fila está cheia")
+    void shouldCountDroppedEventsWhenQueueIsFull() throws InterruptedException {
+        // Given
+        long before = CountingAsyncAppender.getDroppedCount();
+        logger.error("primeiro");
+        assertTrue(firstEventTaken.await(5, TimeUnit.SECONDS));
+
+        // When - 2 cabem na fila, os outros 3 são descartados sem bloquear
+        for (int i = 0; i < 5; i++) {
+            logger.error("evento {}", i);
+        }
+
+        // Then
+        assertEquals(3, CountingAsyncAppender.getDroppedCount() - before);
+    }
+
+    @Test
+    @DisplayName("Deve contar descartes por threshold sem contar duas vezes com a fila cheia")
+    void shouldCountThresholdDiscardsOnce() throws InterruptedException {
+        // Given - threshold de 2 vagas: INFO é descartado quando resta menos de 2
+        startAsyncAppender(2);
+        long before = CountingAsyncAppender.getDroppedCount();
+        logger.error("primeiro");
+        assertTrue(firstEventTaken.await(5, TimeUnit.SECONDS));
+
+        // When - 1 ERROR ocupa a 1ª vaga; o INFO é descartado pelo threshold; 1 ERROR ocupa a última;
+        // o INFO seguinte encontra a fila cheia
+        logger.error("ocupa");
+        logger.info("descartado pelo threshold");
+        logger.error("ocupa a última");
+        logger.info("fila cheia");
+
+        // Then
+        assertEquals(2, CountingAsyncAppender.getDroppedCount() - before);
+        assertEquals(2, asyncAppender.getNumberOfElementsInQueue());
+    }
+
+    @Test
+    @DisplayName("Deve contar os descartes por fila cheia com escritores concorrentes")
+    void shouldCountEveryRejectedOfferUnderConcurrentWriters() throws Exception {
+        // Given - worker preso no primeiro evento, fila com 2 vagas
+        long before = CountingAsyncAppender.getDroppedCount();
+        logger.error("primeiro");
+        assertTrue(firstEventTaken.await(5, TimeUnit.SECONDS));
+
+        // When - 4 threads disputam as 2 vagas
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    logger.error("evento {}", i);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join(5000);
+        }
+
+        // Then - só a disputa pelas 2 últimas vagas pode escapar da contagem (até 3 escritores por vaga)
+        long dropped = CountingAsyncAppender.getDroppedCount() - before;
+        long rejected = 1000 - asyncAppender.getNumberOfElementsInQueue();
+        assertTrue(dropped <= rejected);
+        assertTrue(dropped >= rejected - 2 * (writers.length - 1));
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.insanos.insanos_server.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitedLogger - Testes Unitários")
+class RateLimitedLoggerTest {
+
+    private Logger delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(Logger.class);
+        when(delegate.isErrorEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Deve emitir no máximo o limite de mensagens por janela")
+    void shouldEmitAtMostPermitsPerWindow() {
+        // Given
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(delegate, 3, Duration.ofHours(1));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            rateLimitedLogger.error("Token JWT inválido: {}", i);
+        }
+
+        // Then
+        verify(delegate, times(3)).error(eq("Token JWT inválido: {}"), any(Object[].class));
+        assertEquals(7, rateLimitedLogger.getSuppressedTotal());
+    }
+
+    @Test
+    @DisplayName("Deve reportar mensagens suprimidas quando a janela reinicia")
+    void shouldReportSuppressedMessagesOnNewWindow() throws InterruptedException {
+        // Given
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(delegate, 1, Duration.ofMillis(20));
+        rateLimitedLogger.error("erro {}", 1);
+        rateLimitedLogger.error("erro {}", 2);
+
+        // When
+        Thread.sleep(30);
+        rateLimitedLogger.error("erro {}", 3);
+
+        // Then
+        verify(delegate).warn(contains("suprimidas"), eq(1L), anyLong());
+        verify(delegate, times(2)).error(eq("erro {}"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Não deve consumir permissões quando ERROR está desabilitado")
+    void shouldSkipWhenErrorDisabled() {
+        // Given
+        when(delegate.isErrorEnabled()).thenReturn(false);
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(delegate, 1, Duration.ofHours(1));
+
+        // When
+        rateLimitedLogger.error("erro");
+
+        // Then
+        verify(delegate, never()).error(anyString(), any(Object[].class));
+        assertEquals(0, rateLimitedLogger.getSuppressedTotal());
+    }
+}
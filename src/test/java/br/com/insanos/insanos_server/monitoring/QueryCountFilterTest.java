@@ -0,0 +1,76 @@
+package br.com.insanos.insanos_server.monitoring;
+
+import br.com.insanos.insanos_server.dto.LoginRequest;
+import br.com.insanos.insanos_server.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static br.com.insanos.insanos_server.support.QueryCountMatchers.maxStatements;
+import static br.com.insanos.insanos_server.support.QueryCountMatchers.statementCount;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("QueryCountFilter - Testes de Integração")
+class QueryCountFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve contar os statements do login com usuário real")
+    void shouldCountStatementsForLogin() throws Exception {
+        // Given - usuário criado pelo DataInitializer
+        LoginRequest loginRequest = new LoginRequest("insanos", "insanos321");
+
+        // When & Then - select do usuário + select da coleção EAGER de roles
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryCountFilter.TIME_HEADER))
+                .andExpect(maxStatements(2));
+
+        assertNotNull(meterRegistry.find("db.statements").tag("uri", "/api/auth/login").summary());
+    }
+
+    @Test
+    @DisplayName("Deve contar os statements do registro real")
+    void shouldCountStatementsForRegister() throws Exception {
+        // Given
+        RegisterRequest registerRequest = new RegisterRequest("querycount", "querycount@test.com", "password123", null);
+
+        // When & Then - 2 exists (username/email) + insert do usuário, da role e do evento de outbox
+        // + sequência do outbox; +1 quando o pool da sequência de usuários vira
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(maxStatements(7));
+    }
+
+    @Test
+    @DisplayName("Deve reportar zero statements em endpoint sem banco")
+    void shouldReportZeroStatementsWithoutDatabaseAccess() throws Exception {
+        mockMvc.perform(get("/api/test/all"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(0));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.insanos.insanos_server.monitoring.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuthRecordingAnalyzer - Testes Unitários")
+class AuthRecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve resumir eventos gravados por etapa e resultado")
+    void shouldSummarizeRecordedStages() throws Exception {
+        // Given
+        Path file = tempDir.resolve("auth.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AuthStageEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            for (int i = 0; i < 10; i++) {
+                AuthStageEvent.start(AuthStageEvent.FLOW_FILTER, AuthStageEvent.STAGE_TOKEN_VERIFY).finish(true);
+            }
+            AuthStageEvent.start(AuthStageEvent.FLOW_FILTER, AuthStageEvent.STAGE_TOKEN_VERIFY).finish(false);
+            AuthStageEvent.start(AuthStageEvent.FLOW_LOGIN, AuthStageEvent.STAGE_AUTHENTICATE).finish(true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // When
+        List<AuthRecordingAnalyzer.StageSummary> summaries = AuthRecordingAnalyzer.summarize(file);
+
+        // Then
+        assertEquals(3, summaries.size());
+        AuthRecordingAnalyzer.StageSummary verifySuccess = summaries.stream()
+                .filter(s -> s.stage().equals(AuthStageEvent.STAGE_TOKEN_VERIFY)
+                        && s.outcome().equals(AuthStageEvent.OUTCOME_SUCCESS))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(10, verifySuccess.count());
+        assertTrue(verifySuccess.p50Nanos() <= verifySuccess.p99Nanos());
+        assertTrue(verifySuccess.p99Nanos() <= verifySuccess.maxNanos());
+    }
+
+    @Test
+    @DisplayName("Deve calcular percentil por nearest-rank")
+    void shouldComputeNearestRankPercentile() {
+        long[] sorted = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+
+        assertEquals(50, AuthRecordingAnalyzer.percentile(sorted, 50));
+        assertEquals(90, AuthRecordingAnalyzer.percentile(sorted, 90));
+        assertEquals(100, AuthRecordingAnalyzer.percentile(sorted, 99));
+    }
+}
@@ -0,0 +1,264 @@
+package br.com.insanos.insanos_server.outbox;
+
+import br.com.insanos.insanos_server.model.OutboxEvent;
+import br.com.insanos.insanos_server.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem polling em segundo plano (config de teste): as entregas vêm só das chamadas a relayBatch().
+// Sem backoff por padrão; os testes de backoff e estacionamento ajustam o relay e o @AfterEach restaura
+@SpringBootTest(properties = {"insanos.outbox.batch-size=3", "insanos.outbox.retry-backoff=PT0S"})
+@AutoConfigureMockMvc
+@DisplayName("OutboxRelay - Testes de Integração")
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class FlakySinkConfig {
+
+        @Bean
+        FlakyOutboxSink flakyOutboxSink() {
+            return new FlakyOutboxSink();
+        }
+    }
+
+    static class FlakyOutboxSink implements OutboxSink {
+
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> batch) {
+            if (failing.get()) {
+                throw new IllegalStateException("destino fora do ar");
+            }
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink memorySink;
+
+    @Autowired
+    private FlakyOutboxSink flakySink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        flakySink.failing.set(false);
+        while (outboxRelay.relayBatch() > 0) {
+            // entrega o que outros testes deixaram
+        }
+        memorySink.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 10);
+    }
+
+    @Test
+    @DisplayName("Deve gravar USER_REGISTERED no registro e entregá-lo pelo relay")
+    void shouldRelayRegistrationEvent() throws Exception {
+        // Given
+        register("outbox1");
+        assertTrue(memorySink.getMessages().isEmpty());
+
+        // When
+        int delivered = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(1, delivered);
+        OutboxMessage message = memorySink.getMessages().get(0);
+        assertEquals(OutboxPublisher.USER_REGISTERED, message.type());
+        assertEquals("outbox1", message.username());
+        JsonNode payload = objectMapper.readTree(message.payload());
+        assertEquals("outbox1@test.com", payload.get("email").asText());
+        assertEquals("ROLE_USER", payload.get("roles").get(0).asText());
+        assertNotNull(outboxEventRepository.findById(message.id()).orElseThrow().getDeliveredAt());
+        assertEquals(0, outboxRelay.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve gravar USER_ROLES_CHANGED só quando as roles mudam")
+    void shouldRecordRoleChanges() throws Exception {
+        // Given
+        register("outbox2");
+        outboxRelay.relayBatch();
+        memorySink.clear();
+        OutboxEvent registered = outboxEventRepository.findAll().stream()
+                .filter(event -> "outbox2".equals(event.getUsername()))
+                .findFirst().orElseThrow();
+
+        // When
+        patchRoles(registered.getAggregateId(), "[\"admin\"]");
+        patchRoles(registered.getAggregateId(), "[\"admin\"]");
+        outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(1, memorySink.getMessages().size());
+        OutboxMessage message = memorySink.getMessages().get(0);
+        assertEquals(OutboxPublisher.USER_ROLES_CHANGED, message.type());
+        JsonNode payload = objectMapper.readTree(message.payload());
+        assertEquals("ROLE_USER", payload.get("previousRoles").get(0).asText());
+        assertEquals("ROLE_ADMIN", payload.get("roles").get(0).asText());
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote pendente quando um sink falha e reenviá-lo depois, em ordem, só a quem não aceitou")
+    void shouldRetryFailedBatchInOrder() throws Exception {
+        // Given
+        flakySink.failing.set(true);
+        register("outbox3");
+        register("outbox4");
+        register("outbox5");
+        register("outbox6");
+
+        // When
+        int first = outboxRelay.relayBatch();
+        long pendingAfterFailure = outboxRelay.getPendingCount();
+        double lagAfterFailure = meterRegistry.get("outbox.lag").gauge().value();
+        flakySink.failing.set(false);
+        int second = outboxRelay.relayBatch();
+        int third = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(4, pendingAfterFailure);
+        assertTrue(lagAfterFailure >= 0);
+        assertEquals(3, second);
+        assertEquals(1, third);
+        // O sink de memória aceitou o primeiro lote na tentativa que falhou e não o recebe de novo
+        List<String> usernames = memorySink.getMessages().stream().map(OutboxMessage::username).toList();
+        assertEquals(List.of("outbox3", "outbox4", "outbox5", "outbox6"), usernames);
+        OutboxEvent retried = findByUsername("outbox3");
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getLastError().contains("destino fora do ar"));
+        assertEquals("memory", retried.getAcceptedBy());
+        assertTrue(meterRegistry.get("outbox.events").tag("outcome", "failed").counter().count() >= 3);
+        assertEquals(0, outboxRelay.getPendingCount());
+        assertEquals(0, meterRegistry.get("outbox.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve esperar o backoff antes de reenviar um lote falho, sem deixar eventos novos passarem à frente")
+    void shouldWaitBackoffBeforeRetrying() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoff", Duration.ofMinutes(1));
+        flakySink.failing.set(true);
+        register("outbox7");
+        outboxRelay.relayBatch();
+        flakySink.failing.set(false);
+        register("outbox8");
+
+        // When
+        int duringBackoff = outboxRelay.relayBatch();
+        OutboxEvent failedEvent = findByUsername("outbox7");
+        failedEvent.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(failedEvent);
+        int afterBackoff = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, duringBackoff);
+        assertEquals(2, afterBackoff);
+        List<String> usernames = memorySink.getMessages().stream().map(OutboxMessage::username).toList();
+        assertEquals(List.of("outbox7", "outbox8"), usernames);
+    }
+
+    @Test
+    @DisplayName("Deve estacionar o evento ao esgotar as tentativas e seguir entregando os demais")
+    void shouldParkEventAfterMaxAttempts() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 2);
+        double parkedBefore = meterRegistry.get("outbox.events").tag("outcome", "parked").counter().count();
+        flakySink.failing.set(true);
+        register("outbox9");
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+        flakySink.failing.set(false);
+        register("outbox10");
+
+        // When
+        int delivered = outboxRelay.relayBatch();
+
+        // Then
+        OutboxEvent parked = findByUsername("outbox9");
+        try {
+            assertEquals(1, delivered);
+            assertEquals(2, parked.getAttempts());
+            assertNotNull(parked.getParkedAt());
+            assertNull(parked.getDeliveredAt());
+            assertEquals(parkedBefore + 1,
+                meterRegistry.get("outbox.events").tag("outcome", "parked").counter().count());
+            // Estacionado continua sem entrega: conta em outbox.pending
+            assertEquals(1, outboxRelay.getPendingCount());
+            List<String> usernames = memorySink.getMessages().stream().map(OutboxMessage::username).toList();
+            assertEquals(List.of("outbox9", "outbox10"), usernames);
+        } finally {
+            // Não deixa o estacionado no banco compartilhado com os outros testes
+            outboxEventRepository.delete(parked);
+        }
+    }
+
+    private OutboxEvent findByUsername(String username) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> username.equals(event.getUsername()))
+                .findFirst().orElseThrow();
+    }
+
+    private void register(String username) throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username
+                            + "@test.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    private void patchRoles(Long id, String roles) throws Exception {
+        mockMvc.perform(patch("/api/admin/users/" + id).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roles\":" + roles + "}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.insanos.insanos_server.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "insanos.rate-limit.enabled=true",
+    "insanos.rate-limit.rules[0].pattern=/api/auth/login",
+    "insanos.rate-limit.rules[0].key=ip",
+    "insanos.rate-limit.rules[0].capacity=2",
+    "insanos.rate-limit.rules[0].refill-tokens=2",
+    "insanos.rate-limit.rules[0].refill-period=PT1H",
+    "insanos.rate-limit.rules[1].pattern=/api/auth/**",
+    "insanos.rate-limit.rules[1].key=subject",
+    "insanos.rate-limit.rules[1].capacity=3",
+    "insanos.rate-limit.rules[1].refill-tokens=3",
+    "insanos.rate-limit.rules[1].refill-period=PT1H"
+})
+@AutoConfigureMockMvc
+@DisplayName("RateLimitFilter - Testes de Integração")
+class RateLimitFilterTest {
+
+    private static final String LOGIN = "{\"username\":\"insanos\",\"password\":\"insanos321\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve limitar login por IP e responder 429 com Retry-After")
+    void shouldLimitLoginPerIp() throws Exception {
+        // Given - IP exclusivo deste teste
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.0.0.1"))
+                            .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(RateLimitFilter.LIMIT_HEADER, "2"))
+                    .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, String.valueOf(1 - i)));
+        }
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+
+        mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.0.0.2"))
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("http.ratelimit.requests")
+                .tag("route", "/api/auth/login").tag("outcome", "rejected").counter().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Deve limitar rotas autenticadas por subject, independente do IP")
+    void shouldLimitAuthenticatedRoutesPerSubject() throws Exception {
+        // Given
+        String body = mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.0.1.1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andReturn().getResponse().getContentAsString();
+        String token = body.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        // When - o mesmo usuário vindo de IPs diferentes divide o bucket
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/auth/me").with(remoteAddr("10.0.2." + i))
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        // Then
+        mockMvc.perform(get("/api/auth/me").with(remoteAddr("10.0.2.9"))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests());
+        // Token inválido não consome o bucket do subject: cai no IP
+        mockMvc.perform(get("/api/auth/me").with(remoteAddr("10.0.3.1"))
+                        .header("Authorization", "Bearer invalid.token.value"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static org.springframework.test.web.servlet.request.RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
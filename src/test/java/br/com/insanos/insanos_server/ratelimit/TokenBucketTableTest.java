@@ -0,0 +1,68 @@
+package br.com.insanos.insanos_server.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketTable - Testes Unitários")
+class TokenBucketTableTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve permitir a rajada e negar o excedente até a reposição")
+    void shouldAllowBurstThenRefill() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(1000);
+        long now = 1_000 * SECOND;
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            TokenBucketTable.Decision decision = table.tryConsume("ip:1", 3, SECOND, now);
+            assertTrue(decision.allowed());
+            assertEquals(2 - i, decision.remaining());
+        }
+        TokenBucketTable.Decision denied = table.tryConsume("ip:1", 3, SECOND, now);
+
+        // Then
+        assertFalse(denied.allowed());
+        assertEquals(SECOND, denied.retryAfterNanos());
+        assertEquals(3 * SECOND, denied.resetNanos());
+
+        assertTrue(table.tryConsume("ip:1", 3, SECOND, now + SECOND).allowed());
+        assertFalse(table.tryConsume("ip:1", 3, SECOND, now + SECOND).allowed());
+        assertEquals(2, table.tryConsume("ip:1", 3, SECOND, now + 10 * SECOND).remaining());
+    }
+
+    @Test
+    @DisplayName("Deve manter buckets independentes por chave")
+    void shouldKeepBucketsPerKey() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(1000);
+
+        // When
+        assertTrue(table.tryConsume("ip:1", 1, SECOND, 0).allowed());
+        assertFalse(table.tryConsume("ip:1", 1, SECOND, 0).allowed());
+
+        // Then
+        assertTrue(table.tryConsume("ip:2", 1, SECOND, 0).allowed());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de buckets em memória")
+    void shouldBoundMemory() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(TokenBucketTable.STRIPES * 4);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            table.tryConsume("ip:" + i, 10, SECOND, 0);
+        }
+
+        // Then
+        assertTrue(table.size() <= TokenBucketTable.STRIPES * 4);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.insanos.insanos_server.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UsernameIndex - Testes Unitários")
+class UsernameIndexTest {
+
+    private UsernameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UsernameIndex();
+        index.rebuild(List.of("ana", "anabela", "bruno", "ananias", "carla", "anderson").iterator());
+    }
+
+    @Test
+    @DisplayName("Deve retornar sugestões por prefixo em ordem lexicográfica")
+    void shouldSuggestByPrefixInOrder() {
+        // When
+        List<String> suggestions = index.suggest("an", 10);
+
+        // Then
+        assertTrue(index.isReady());
+        assertEquals(List.of("ana", "anabela", "ananias", "anderson"), suggestions);
+        assertEquals(List.of("ana", "anabela"), index.suggest("an", 2));
+        assertTrue(index.suggest("z", 10).isEmpty());
+        assertTrue(index.suggest("An", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve refletir inserções e remoções feitas depois da construção")
+    void shouldReflectAddsAndRemovesAfterBuild() {
+        // Given
+        index.add("anacleto");
+        index.add("amanda");
+        index.remove("anabela");
+        index.remove("inexistente");
+
+        // When
+        List<String> suggestions = index.suggest("an", 10);
+
+        // Then
+        assertEquals(List.of("ana", "anacleto", "ananias", "anderson"), suggestions);
+        assertEquals(List.of("amanda"), index.suggest("am", 10));
+        assertEquals(7, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve reinserir um username removido da base")
+    void shouldReAddRemovedUsername() {
+        // Given
+        index.remove("bruno");
+        assertTrue(index.suggest("br", 10).isEmpty());
+
+        // When
+        index.add("bruno");
+
+        // Then
+        assertEquals(List.of("bruno"), index.suggest("br", 10));
+    }
+
+    @Test
+    @DisplayName("Deve compactar o delta na base sem perder alterações")
+    void shouldCompactDeltaIntoBase() {
+        // Given
+        ReflectionTestUtils.setField(index, "compactionThreshold", 2);
+
+        // When
+        index.add("anita");
+        index.remove("ana");
+        index.add("beatriz");
+
+        // Then
+        assertEquals(List.of("anabela", "ananias", "anderson", "anita"), index.suggest("an", 10));
+        assertEquals(List.of("beatriz", "bruno"), index.suggest("b", 10));
+    }
+
+    @Test
+    @DisplayName("Deve manter escritas feitas antes da primeira construção")
+    void shouldKeepWritesMadeBeforeBuild() {
+        // Given
+        UsernameIndex fresh = new UsernameIndex();
+        fresh.add("novo");
+        fresh.remove("antigo");
+        assertFalse(fresh.isReady());
+
+        // When - a base vem do banco fora de ordem e ainda contém o usuário removido
+        fresh.rebuild(List.of("zeca", "antigo", "novo", "maria").iterator());
+
+        // Then
+        assertEquals(List.of("maria", "novo", "zeca"), fresh.suggest("", 10));
+    }
+}
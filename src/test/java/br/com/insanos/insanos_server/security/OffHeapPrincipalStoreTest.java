@@ -0,0 +1,264 @@
+package br.com.insanos.insanos_server.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OffHeapPrincipalStore - Testes Unitários")
+class OffHeapPrincipalStoreTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE / 2;
+
+    private OffHeapPrincipalStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapPrincipalStore(1000, 64 * 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o principal gravado com todos os campos")
+    void shouldRoundTripPrincipal() {
+        // Given
+        UserDetailsImpl original = new UserDetailsImpl(42L, "joão", "joão@insanos.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")), false, 7L);
+
+        // When
+        assertTrue(store.put(original, FAR_FUTURE));
+        UserDetailsImpl loaded = store.get("joão", 0);
+
+        // Then
+        assertEquals(42L, loaded.getId());
+        assertEquals("joão", loaded.getUsername());
+        assertEquals("joão@insanos.com", loaded.getEmail());
+        assertNull(loaded.getPassword());
+        assertFalse(loaded.isEnabled());
+        assertEquals(7L, loaded.getTokenVersion());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), authorityNames(loaded));
+        assertNull(store.get("joao", 0));
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a lista de authorities entre principals com as mesmas roles")
+    void shouldShareAuthoritiesByMask() {
+        // Given
+        store.put(principal(1, "ana"), FAR_FUTURE);
+        store.put(principal(2, "bruno"), FAR_FUTURE);
+
+        // When / Then
+        assertSame(store.get("ana", 0).getAuthorities(), store.get("bruno", 0).getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Deve substituir a entrada existente do mesmo username")
+    void shouldReplaceExistingEntry() {
+        // Given
+        store.put(principal(1, "ana"), FAR_FUTURE);
+
+        // When
+        store.put(new UserDetailsImpl(1L, "ana", "nova@insanos.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 3L), FAR_FUTURE);
+
+        // Then
+        assertEquals(1, store.size());
+        assertEquals("nova@insanos.com", store.get("ana", 0).getEmail());
+        assertEquals(3L, store.get("ana", 0).getTokenVersion());
+    }
+
+    @Test
+    @DisplayName("Deve não devolver entradas expiradas")
+    void shouldIgnoreExpiredEntries() {
+        // Given
+        store.put(principal(1, "ana"), 100);
+
+        // When / Then
+        assertNotNull(store.get("ana", 99));
+        assertNull(store.get("ana", 100));
+    }
+
+    @Test
+    @DisplayName("Deve manter os demais registros alcançáveis depois de remoções")
+    void shouldKeepProbeChainsAfterRemovals() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(store.put(principal(i, "user" + i), FAR_FUTURE));
+        }
+
+        // When
+        for (int i = 0; i < 1000; i += 2) {
+            store.remove("user" + i);
+        }
+
+        // Then
+        assertEquals(500, store.size());
+        for (int i = 0; i < 1000; i++) {
+            UserDetailsImpl principal = store.get("user" + i, 0);
+            if (i % 2 == 0) {
+                assertNull(principal);
+            } else {
+                assertEquals(i, principal.getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar novas entradas acima da capacidade")
+    void shouldRejectAboveCapacity() {
+        // Given
+        try (OffHeapPrincipalStore small = new OffHeapPrincipalStore(4, 1024)) {
+
+            // When
+            for (int i = 0; i < 6; i++) {
+                small.put(principal(i, "user" + i), FAR_FUTURE);
+            }
+
+            // Then
+            assertEquals(4, small.size());
+            assertEquals(2, small.getRejectedCount());
+            assertNull(small.get("user5", 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compactar a arena de strings quando ela enche")
+    void shouldCompactArenaWhenFull() {
+        // Given - arena para pouco mais de 2 entradas; cada substituição deixa bytes mortos
+        try (OffHeapPrincipalStore small = new OffHeapPrincipalStore(4, 64)) {
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                assertTrue(small.put(principal(i, "ana"), FAR_FUTURE));
+                assertTrue(small.put(principal(i, "bia"), FAR_FUTURE));
+            }
+
+            // Then
+            assertEquals(49L, small.get("ana", 0).getId());
+            assertEquals("bia@insanos.com", small.get("bia", 0).getEmail());
+            assertEquals(0, small.getRejectedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve liberar a memória no close e recusar acessos depois dele")
+    void shouldReleaseMemoryOnClose() {
+        // Given
+        OffHeapPrincipalStore closed = new OffHeapPrincipalStore(4, 1024);
+        closed.put(principal(1, "ana"), FAR_FUTURE);
+
+        // When
+        closed.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> closed.get("ana", 0));
+    }
+
+    @Test
+    @DisplayName("Deve remover expiradas e reduzir até o alvo no trim")
+    void shouldTrimExpiredThenArbitrary() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            store.put(principal(i, "user" + i), i < 30 ? 10 : FAR_FUTURE);
+        }
+
+        // When
+        store.trim(10, 50);
+
+        // Then
+        assertEquals(50, store.size());
+        int reachable = 0;
+        for (int i = 0; i < 100; i++) {
+            if (store.get("user" + i, 10) != null) {
+                reachable++;
+            }
+        }
+        assertEquals(50, reachable);
+    }
+
+    @Test
+    @DisplayName("Deve recusar principal com mais roles do que cabem na máscara")
+    void shouldRejectUnrepresentableRoles() {
+        // Given
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (int i = 0; i <= RoleMask.MAX_ROLES; i++) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + i));
+        }
+
+        // When / Then
+        assertFalse(store.put(new UserDetailsImpl(1L, "ana", "ana@insanos.com", null, authorities, true, 0L), FAR_FUTURE));
+        assertNull(store.get("ana", 0));
+    }
+
+    @Test
+    @DisplayName("Deve ler valores consistentes com escritas concorrentes")
+    void shouldReadConsistentlyUnderConcurrentWrites() throws Exception {
+        // Given - o id sempre acompanha a versão; leitura rasgada quebraria a relação
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 100; i++) {
+            store.put(versioned("user" + i, 0), FAR_FUTURE);
+        }
+
+        // When
+        Future<?> writer = executor.submit(() -> {
+            for (int version = 1; version < 20_000; version++) {
+                store.put(versioned("user" + (version % 100), version), FAR_FUTURE);
+                if (version % 1000 == 0) {
+                    store.remove("user" + (version % 100));
+                }
+            }
+        });
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            readers.add(executor.submit(() -> {
+                int inconsistent = 0;
+                while (!writer.isDone()) {
+                    for (int i = 0; i < 100; i++) {
+                        UserDetailsImpl principal = store.get("user" + i, 0);
+                        if (principal != null && (principal.getId() != principal.getTokenVersion() * 10
+                                || !principal.getEmail().equals("user" + i + "@insanos.com"))) {
+                            inconsistent++;
+                        }
+                    }
+                }
+                return inconsistent;
+            }));
+        }
+
+        // Then
+        writer.get(30, TimeUnit.SECONDS);
+        for (Future<Integer> reader : readers) {
+            assertEquals(0, reader.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+    }
+
+    private static UserDetailsImpl principal(long id, String username) {
+        return new UserDetailsImpl(id, username, username + "@insanos.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 0L);
+    }
+
+    private static UserDetailsImpl versioned(String username, long version) {
+        return new UserDetailsImpl(version * 10, username, username + "@insanos.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, version);
+    }
+
+    private static List<String> authorityNames(UserDetailsImpl principal) {
+        return principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.insanos.insanos_server.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PrincipalCache - Testes Unitários")
+class PrincipalCacheTest {
+
+    private PrincipalCache cache;
+    private AtomicInteger loads;
+    private Function<String, UserDetailsImpl> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache();
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return principal(username);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e servir as próximas leituras do cache")
+    void shouldLoadOnceAndServeFromCache() {
+        // When
+        UserDetailsImpl first = cache.get("ana", loader);
+        UserDetailsImpl second = cache.get("ana", loader);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar depois de evict")
+    void shouldReloadAfterEvict() {
+        // Given
+        cache.get("ana", loader);
+        cache.get("bruno", loader);
+
+        // When
+        cache.evictAll(List.of("ana"));
+        cache.get("ana", loader);
+        cache.get("bruno", loader);
+
+        // Then
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar valor carregado enquanto uma invalidação chegava")
+    void shouldDiscardValueLoadedAcrossInvalidation() {
+        // Given - a invalidação chega no meio do load (valor lido do banco antes da alteração)
+        Function<String, UserDetailsImpl> racingLoader = username -> {
+            UserDetailsImpl stale = principal(username);
+            cache.evict(username);
+            return stale;
+        };
+
+        // When
+        cache.get("ana", racingLoader);
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única carga para misses concorrentes do mesmo usuário")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, UserDetailsImpl> slowLoader = username -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return principal(username);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<UserDetailsImpl>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.get("ana", slowLoader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getCoalescedLoads() < 7 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Then
+        UserDetailsImpl first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<UserDetailsImpl> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7, cache.getCoalescedLoads());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar entradas expiradas")
+    void shouldReloadExpiredEntries() {
+        // Given
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ZERO);
+
+        // When
+        cache.get("ana", loader);
+        cache.get("ana", loader);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo")
+    void shouldRespectMaxSize() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.get("user" + i, loader);
+        }
+
+        // Then
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    @DisplayName("Deve sempre chamar o loader quando desativado")
+    void shouldBypassWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        // When
+        cache.get("ana", loader);
+        cache.get("ana", loader);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve guardar as entradas fora do heap quando configurado")
+    void shouldServeFromOffHeapStore() {
+        // Given
+        ReflectionTestUtils.setField(cache, "offHeap", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        cache.init();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.get("user" + i, loader);
+        }
+        UserDetailsImpl first = cache.get("ana", loader);
+        UserDetailsImpl second = cache.get("ana", loader);
+        cache.evict("ana");
+        cache.get("ana", loader);
+
+        // Then
+        assertTrue(cache.size() <= 10);
+        assertEquals(102, loads.get());
+        assertEquals(first.getEmail(), second.getEmail());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertNull(second.getPassword());
+    }
+
+    private static UserDetailsImpl principal(String username) {
+        return new UserDetailsImpl(1L, username, username + "@test.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.insanos.insanos_server.security;
+
+import br.com.insanos.insanos_server.monitoring.QueryCountFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Carga de principal com single-flight - Testes de Integração")
+class PrincipalLoadCoalescingTest {
+
+    private static final int REQUESTS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    @DisplayName("Deve fazer uma única consulta ao banco para N requisições simultâneas do mesmo usuário")
+    void shouldIssueOneQueryForConcurrentRequests() throws Exception {
+        // Given - custo de uma carga a frio, medido pelo X-DB-Statements
+        String token = login();
+        principalCache.evict("insanos");
+        int statementsPerLoad = statements(mockMvc.perform(get("/api/auth/me")
+                .header("Authorization", "Bearer " + token)).andReturn());
+        assertTrue(statementsPerLoad > 0);
+
+        // Banco "lento": todas as requisições chegam enquanto a primeira carga está em andamento
+        principalCache.evict("insanos");
+        clearInvocations(userDetailsService);
+        doAnswer(invocation -> {
+            Thread.sleep(300);
+            return invocation.callRealMethod();
+        }).when(userDetailsService).loadUserByUsername("insanos");
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token)).andReturn();
+            }));
+        }
+        start.countDown();
+
+        // Then
+        int totalStatements = 0;
+        for (Future<MvcResult> result : results) {
+            MvcResult mvcResult = result.get(10, TimeUnit.SECONDS);
+            assertEquals(200, mvcResult.getResponse().getStatus());
+            totalStatements += statements(mvcResult);
+        }
+        executor.shutdown();
+
+        verify(userDetailsService, times(1)).loadUserByUsername("insanos");
+        assertEquals(statementsPerLoad, totalStatements);
+        assertTrue(principalCache.getCoalescedLoads() >= REQUESTS - 1);
+    }
+
+    private String login() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"insanos\",\"password\":\"insanos321\"}"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private static int statements(MvcResult result) {
+        return Integer.parseInt(result.getResponse().getHeader(QueryCountFilter.STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.insanos.insanos_server.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o custo de GC do {@link PrincipalCache} com as entradas no heap e no
+ * {@link OffHeapPrincipalStore}: popula o cache com {@code loadtest.principals} usuários e
+ * simula tráfego (leituras no cache + lixo de requisição). Os principals no heap sobrevivem e vão
+ * para a old generation; cada coleta precisa percorrê-los. Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=PrincipalStoreGcLoadTest -Dloadtest.principals=2000000 -DargLine="-Xmx4g"
+ * </pre>
+ */
+@DisplayName("PrincipalCache no heap x fora do heap - Teste de Carga")
+class PrincipalStoreGcLoadTest {
+
+    private static final int PRINCIPALS = Integer.getInteger("loadtest.principals", 1_000_000);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20_000_000);
+
+    private record GcStats(String mode, long collections, long pauseMillis, long fullGcMillis, long heapAfterMb) {
+    }
+
+    @Test
+    @DisplayName("Carga: cache fora do heap deve reduzir tempo de GC e heap ocupado")
+    void offHeapShouldReduceGcCost() {
+        GcStats heap = measure(false);
+        GcStats offHeap = measure(true);
+
+        for (GcStats stats : List.of(heap, offHeap)) {
+            System.out.printf("🧠 %-8s %d principals: %d coletas, %d ms em GC, full GC %d ms, heap após full GC %d MB%n",
+                stats.mode(), PRINCIPALS, stats.collections(), stats.pauseMillis(), stats.fullGcMillis(), stats.heapAfterMb());
+        }
+
+        assertTrue(offHeap.heapAfterMb() < heap.heapAfterMb(),
+            "heap fora do heap=" + offHeap.heapAfterMb() + " MB, no heap=" + heap.heapAfterMb() + " MB");
+    }
+
+    private GcStats measure(boolean offHeap) {
+        PrincipalCache cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "maxSize", PRINCIPALS);
+        ReflectionTestUtils.setField(cache, "offHeap", offHeap);
+        cache.init();
+
+        Function<String, UserDetailsImpl> loader = username -> new UserDetailsImpl(
+                (long) username.hashCode(), username, username + "@insanos.com", "$2a$10$" + username,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 0L);
+        for (int i = 0; i < PRINCIPALS; i++) {
+            cache.get("user" + i, loader);
+        }
+
+        System.gc();
+        long collectionsBefore = totalCollections();
+        long pauseBefore = totalPauseMillis();
+
+        // Tráfego: cada requisição lê um principal e gera um pouco de lixo de vida curta
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long checksum = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            UserDetailsImpl principal = cache.get("user" + random.nextInt(PRINCIPALS), loader);
+            checksum += principal.getUsername().length() + new byte[64].length;
+        }
+
+        long collections = totalCollections() - collectionsBefore;
+        long pauseMillis = totalPauseMillis() - pauseBefore;
+
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapAfterMb = memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        assertTrue(checksum > 0 && cache.size() > 0);
+        GcStats stats = new GcStats(offHeap ? "off-heap" : "heap", collections, pauseMillis, fullGcMillis, heapAfterMb);
+        cache.clear();
+        return stats;
+    }
+
+    private static long totalCollections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long totalPauseMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.insanos.insanos_server.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RoleMask - Testes Unitários")
+class RoleMaskTest {
+
+    @Test
+    @DisplayName("Deve converter roles em máscara e de volta em authorities")
+    void shouldRoundTripRoles() {
+        // Given
+        RoleMask roleMask = new RoleMask();
+
+        // When
+        long user = roleMask.toMask(List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        long admin = roleMask.toMask(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        // Then
+        assertEquals(0b01, user);
+        assertEquals(0b11, admin);
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                roleMask.authorities(admin).stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(roleMask.authorities(admin), roleMask.authorities(admin));
+        assertEquals(0, roleMask.toMask(List.of()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar roles além do limite da máscara")
+    void shouldRejectRolesBeyondLimit() {
+        // Given
+        RoleMask roleMask = new RoleMask();
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (int i = 0; i < RoleMask.MAX_ROLES; i++) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + i));
+        }
+
+        // When / Then
+        assertEquals(Long.MAX_VALUE, roleMask.toMask(authorities));
+        assertEquals(RoleMask.UNREPRESENTABLE, roleMask.toMask(List.of(new SimpleGrantedAuthority("ROLE_EXTRA"))));
+        assertEquals(RoleMask.MAX_ROLES, roleMask.size());
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.insanos.insanos_server.security;
 
+import br.com.insanos.insanos_server.datasource.ReadAfterWriteGuard;
 import br.com.insanos.insanos_server.model.User;
 import br.com.insanos.insanos_server.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,6 +30,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private ReadAfterWriteGuard readAfterWriteGuard = new ReadAfterWriteGuard();
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -0,0 +1,52 @@
+package br.com.insanos.insanos_server.security.apikey;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ApiKeyCodec - Testes Unitários")
+class ApiKeyCodecTest {
+
+    @Test
+    @DisplayName("Deve gerar chave que é lida de volta com o mesmo prefixo e hash")
+    void shouldGenerateParseableKey() {
+        // When
+        ApiKeyCodec.Generated generated = ApiKeyCodec.generate();
+        ApiKeyCodec.Parsed parsed = ApiKeyCodec.parse(generated.key());
+
+        // Then
+        assertTrue(generated.key().startsWith(ApiKeyCodec.KEY_PREFIX + generated.prefix() + "_"));
+        assertEquals(ApiKeyCodec.PREFIX_LENGTH, generated.prefix().length());
+        assertEquals(generated.prefix(), parsed.prefix());
+        assertEquals(64, generated.secretHash().length());
+        assertTrue(ApiKeyCodec.matches(parsed.secret(), HexFormat.of().parseHex(generated.secretHash())));
+        assertFalse(ApiKeyCodec.matches(parsed.secret() + "x", HexFormat.of().parseHex(generated.secretHash())));
+    }
+
+    @Test
+    @DisplayName("Deve gerar prefixos e segredos diferentes a cada chave")
+    void shouldGenerateDistinctKeys() {
+        // When
+        ApiKeyCodec.Generated first = ApiKeyCodec.generate();
+        ApiKeyCodec.Generated second = ApiKeyCodec.generate();
+
+        // Then
+        assertNotEquals(first.prefix(), second.prefix());
+        assertNotEquals(first.secretHash(), second.secretHash());
+    }
+
+    @Test
+    @DisplayName("Deve recusar valores fora do formato")
+    void shouldRejectMalformedKeys() {
+        assertNull(ApiKeyCodec.parse(null));
+        assertNull(ApiKeyCodec.parse(""));
+        assertNull(ApiKeyCodec.parse("Bearer abc"));
+        assertNull(ApiKeyCodec.parse("ik_0123456789ab_"));
+        assertNull(ApiKeyCodec.parse("ik_0123456789ab-secret"));
+        assertNull(ApiKeyCodec.parse("ik_0123456789zz_secret"));
+        assertNotNull(ApiKeyCodec.parse("ik_0123456789ab_secret"));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.insanos.insanos_server.security.forwardauth;
+
+import br.com.insanos.insanos_server.security.PrincipalCache;
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.UserDetailsServiceImpl;
+import br.com.insanos.insanos_server.security.token.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Desligado por padrão; o loopback do MockMvc (127.0.0.1) está na lista de endereços padrão
+@SpringBootTest(properties = "insanos.forward-auth.enabled=true")
+@AutoConfigureMockMvc
+@DisplayName("ForwardAuthFilter - Testes de Integração")
+class ForwardAuthFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @MockitoSpyBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    @DisplayName("GET /internal/auth/verify - Deve retornar 200 com a identidade em headers e sem corpo")
+    void shouldReturnIdentityHeadersForValidToken() throws Exception {
+        // Given
+        UserDetailsImpl admin = (UserDetailsImpl) userDetailsService.loadUserByUsername("admin");
+        String token = tokenService.issue(admin);
+
+        // When
+        MvcResult result = mockMvc.perform(get(ForwardAuthFilter.VERIFY_PATH).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ForwardAuthFilter.USER_ID_HEADER, String.valueOf(admin.getId())))
+                .andExpect(header().string(ForwardAuthFilter.USER_NAME_HEADER, "admin"))
+                .andExpect(header().string("Cache-Control", "max-age=5"))
+                .andExpect(header().string("Vary", "Authorization"))
+                .andReturn();
+
+        // Then - resposta montada no filtro, sem passar pelo DispatcherServlet
+        assertNull(result.getHandler());
+        assertEquals("", result.getResponse().getContentAsString());
+        assertTrue(result.getResponse().getHeader(ForwardAuthFilter.USER_ROLES_HEADER).contains("ROLE_ADMIN"));
+    }
+
+    @Test
+    @DisplayName("GET /internal/auth/verify - Deve retornar 401 sem token ou com token inválido")
+    void shouldReturn401ForMissingOrInvalidToken() throws Exception {
+        mockMvc.perform(get(ForwardAuthFilter.VERIFY_PATH))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(header().doesNotExist(ForwardAuthFilter.USER_ID_HEADER))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post(ForwardAuthFilter.VERIFY_PATH).header("Authorization", "Bearer invalid.token.value"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /internal/auth/verify - Deve retornar 401 para token de versão revogada")
+    void shouldReturn401ForRevokedToken() throws Exception {
+        // Given - token emitido com uma versão diferente da atual do usuário
+        UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername("insanos");
+        String token = tokenService.issue(new UserDetailsImpl(user.getId(), user.getUsername(), user.getEmail(),
+                null, user.getAuthorities(), true, user.getTokenVersion() + 1));
+
+        // When / Then
+        mockMvc.perform(get(ForwardAuthFilter.VERIFY_PATH).header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().doesNotExist(ForwardAuthFilter.USER_ID_HEADER));
+    }
+
+    @Test
+    @DisplayName("GET /internal/auth/verify - Deve retornar 403 para endereço fora da lista")
+    void shouldReturn403ForAddressNotAllowed() throws Exception {
+        // Given
+        UserDetailsImpl admin = (UserDetailsImpl) userDetailsService.loadUserByUsername("admin");
+        String token = tokenService.issue(admin);
+
+        // When / Then
+        mockMvc.perform(get(ForwardAuthFilter.VERIFY_PATH).header("Authorization", "Bearer " + token)
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        }))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist(ForwardAuthFilter.USER_ID_HEADER))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /internal/auth/verify - Deve retornar 503 sem corpo quando o usuário não pode ser carregado")
+    void shouldReturn503WhenPrincipalLoadFails() throws Exception {
+        // Given - usuário fora do cache e banco indisponível
+        UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername("insanos");
+        String token = tokenService.issue(user);
+        principalCache.evict("insanos");
+        doThrow(new DataAccessResourceFailureException("banco fora")).when(userDetailsService).loadUserByUsername("insanos");
+
+        // When / Then
+        mockMvc.perform(get(ForwardAuthFilter.VERIFY_PATH).header("Authorization", "Bearer " + token))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(header().doesNotExist(ForwardAuthFilter.USER_ID_HEADER))
+                .andExpect(content().string(""));
+    }
+}
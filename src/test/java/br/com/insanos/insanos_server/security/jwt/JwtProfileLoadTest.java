@@ -0,0 +1,93 @@
+package br.com.insanos.insanos_server.security.jwt;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede o tamanho do header Authorization e o custo de verificar o token no filtro para os perfis
+ * {@code jwt.claims-profile} standard e compact, e para o parser montado a cada chamada (como era
+ * antes de {@link JwtUtils} reaproveitá-lo). Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=JwtProfileLoadTest -Dloadtest.verifications=2000000
+ * </pre>
+ */
+@DisplayName("Perfis de claims do JWT - Teste de Carga")
+class JwtProfileLoadTest {
+
+    private static final String SECRET = "insanos-secret-key-very-secure-and-long-at-least-256-bits-for-hs256-algorithm";
+    private static final int VERIFICATIONS = Integer.getInteger("loadtest.verifications", 500_000);
+
+    @Test
+    @DisplayName("Carga: perfil compacto deve encolher o header e verificar mais rápido")
+    void compactProfileShouldShrinkHeaderAndParseFaster() {
+        UserDetailsImpl principal = new UserDetailsImpl(12345L, "usuario.exemplo", "usuario.exemplo@insanos.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 0L);
+
+        JwtUtils standard = jwtUtils(JwtUtils.PROFILE_STANDARD);
+        JwtUtils compact = jwtUtils(JwtUtils.PROFILE_COMPACT);
+        String standardToken = standard.generateJwtToken(principal);
+        String compactToken = compact.generateJwtToken(principal);
+
+        int standardHeader = ("Bearer " + standardToken).getBytes(StandardCharsets.US_ASCII).length;
+        int compactHeader = ("Bearer " + compactToken).getBytes(StandardCharsets.US_ASCII).length;
+
+        // Caminho anterior: chave e parser montados a cada token
+        ToIntFunction<String> rebuilt = token -> Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject()
+                .length();
+        ToIntFunction<String> cachedStandard = token -> standard.parseValidClaims(token).getSubject().length();
+        ToIntFunction<String> cachedCompact = token -> compact.parseValidClaims(token).getSubject().length();
+
+        // Aquecimento do JIT antes de medir
+        measure(rebuilt, standardToken, VERIFICATIONS / 5);
+        measure(cachedStandard, standardToken, VERIFICATIONS / 5);
+        measure(cachedCompact, compactToken, VERIFICATIONS / 5);
+
+        double rebuiltNanos = measure(rebuilt, standardToken, VERIFICATIONS);
+        double standardNanos = measure(cachedStandard, standardToken, VERIFICATIONS);
+        double compactNanos = measure(cachedCompact, compactToken, VERIFICATIONS);
+
+        System.out.printf("🔑 Header Authorization: standard %d bytes, compact %d bytes (-%d)%n",
+            standardHeader, compactHeader, standardHeader - compactHeader);
+        System.out.printf("🔑 Verificação: parser por chamada %.0f ns/op, standard %.0f ns/op, compact %.0f ns/op%n",
+            rebuiltNanos, standardNanos, compactNanos);
+
+        assertTrue(compactHeader < standardHeader);
+        assertTrue(compactNanos < rebuiltNanos, "compact=" + compactNanos + " ns/op, antes=" + rebuiltNanos + " ns/op");
+    }
+
+    private static JwtUtils jwtUtils(String profile) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "claimsProfile", profile);
+        return jwtUtils;
+    }
+
+    private static double measure(ToIntFunction<String> verifier, String token, int verifications) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < verifications; i++) {
+            checksum += verifier.applyAsInt(token);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(checksum > 0);
+        return (double) elapsed / verifications;
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.insanos.insanos_server.security.jwt;
 
 import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -13,6 +14,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
@@ -216,5 +219,134 @@ class JwtUtilsTest {
             jwtUtils.getUserNameFromJwtToken(invalidToken);
         });
     }
-}
 
+    @Test
+    @DisplayName("Deve incluir a versão dos tokens do usuário no claim ver")
+    void shouldIncludeTokenVersionClaim() {
+        // Given
+        UserDetailsImpl versioned = new UserDetailsImpl(1L, "testuser", "test@test.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 7L);
+        authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(versioned);
+
+        // When
+        Claims claims = jwtUtils.parseValidClaims(jwtUtils.generateJwtToken(authentication));
+
+        // Then
+        assertNotNull(claims);
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(7L, JwtUtils.getTokenVersion(claims));
+    }
+
+    @Test
+    @DisplayName("Deve retornar null ao extrair claims de token inválido")
+    void shouldReturnNullClaimsForInvalidToken() {
+        // When & Then
+        assertNull(jwtUtils.parseValidClaims("invalid.token.here"));
+        assertNull(jwtUtils.parseValidClaims(""));
+    }
+
+    @Test
+    @DisplayName("Deve emitir token compacto menor que o padrão, sem iat e com HS256")
+    void shouldIssueCompactTokenSmallerThanStandard() {
+        // Given
+        String compact = jwtUtils.generateJwtToken(userDetails);
+        ReflectionTestUtils.setField(jwtUtils, "claimsProfile", JwtUtils.PROFILE_STANDARD);
+
+        // When
+        String standard = jwtUtils.generateJwtToken(userDetails);
+
+        // Then
+        assertTrue(compact.length() < standard.length(),
+            "compact=" + compact.length() + ", standard=" + standard.length());
+        Claims claims = jwtUtils.parseValidClaims(compact);
+        assertNull(claims.getIssuedAt());
+        assertNull(claims.get(JwtUtils.VERSION_CLAIM));
+        assertEquals(0L, JwtUtils.getTokenVersion(claims));
+        assertTrue(new String(Base64.getUrlDecoder().decode(compact.split("\\.")[0])).contains("HS256"));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar tokens do perfil padrão depois de mudar para o compacto")
+    void shouldParseStandardTokensWithCompactProfile() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtils, "claimsProfile", JwtUtils.PROFILE_STANDARD);
+        String standard = jwtUtils.generateJwtToken(new UserDetailsImpl(1L, "testuser", "test@test.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 7L));
+
+        // When
+        ReflectionTestUtils.setField(jwtUtils, "claimsProfile", JwtUtils.PROFILE_COMPACT);
+        Claims claims = jwtUtils.parseValidClaims(standard);
+
+        // Then
+        assertNotNull(claims);
+        assertNotNull(claims.getIssuedAt());
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(7L, JwtUtils.getTokenVersion(claims));
+    }
+
+    @Test
+    @DisplayName("Deve recusar lixo na pré-checagem estrutural, sem parse")
+    void shouldRejectGarbageWithStructuralPreChecks() {
+        // Given
+        String valid = jwtUtils.generateJwtToken(userDetails);
+        String[] parts = valid.split("\\.");
+
+        // When / Then
+        assertNull(jwtUtils.parseValidClaims(null));
+        assertNull(jwtUtils.parseValidClaims("garbage.123"));
+        assertNull(jwtUtils.parseValidClaims(parts[0] + "." + parts[1]));
+        assertNull(jwtUtils.parseValidClaims(valid + ".extra"));
+        assertNull(jwtUtils.parseValidClaims(parts[0] + "." + parts[1] + "."));
+        assertNull(jwtUtils.parseValidClaims(parts[0] + "." + parts[1] + ".a+b/c="));
+        assertNull(jwtUtils.parseValidClaims(valid + "A".repeat(4096)));
+        assertEquals(7, jwtUtils.getMalformedRejections());
+        assertEquals(0, jwtUtils.getNegativeCacheSize());
+        assertNotNull(jwtUtils.parseValidClaims(valid));
+    }
+
+    @Test
+    @DisplayName("Deve lembrar token com assinatura inválida e recusá-lo sem novo parse")
+    void shouldShortCircuitKnownBadTokens() {
+        // Given - token assinado com outra chave
+        JwtUtils otherIssuer = new JwtUtils();
+        ReflectionTestUtils.setField(otherIssuer, "jwtSecret",
+            "anotherSecretKeyThatDoesNotMatchTheServerSecretAtAll-1234567890abcdef");
+        ReflectionTestUtils.setField(otherIssuer, "jwtExpirationMs", 3600000);
+        String forged = otherIssuer.generateJwtToken(userDetails);
+        String valid = jwtUtils.generateJwtToken(userDetails);
+
+        // When
+        assertNull(jwtUtils.parseValidClaims(forged));
+        assertNull(jwtUtils.parseValidClaims(forged));
+        assertNull(jwtUtils.parseValidClaims(forged));
+
+        // Then
+        assertEquals(2, jwtUtils.getNegativeCacheHits());
+        assertEquals(1, jwtUtils.getNegativeCacheSize());
+        assertNotNull(jwtUtils.parseValidClaims(valid));
+        assertEquals(1, jwtUtils.getNegativeCacheSize());
+    }
+
+    @Test
+    @DisplayName("Deve manter o negative cache dentro do limite e desligá-lo com TTL zero")
+    void shouldBoundNegativeCache() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtils, "negativeCacheMaxSize", 10);
+        String[] parts = jwtUtils.generateJwtToken(userDetails).split("\\.");
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            jwtUtils.parseValidClaims(parts[0] + "." + parts[1] + ".bad" + i);
+        }
+
+        // Then
+        assertTrue(jwtUtils.getNegativeCacheSize() <= 10);
+
+        ReflectionTestUtils.setField(jwtUtils, "negativeCacheTtl", Duration.ZERO);
+        String bad = parts[0] + "." + parts[1] + ".uncached";
+        jwtUtils.parseValidClaims(bad);
+        jwtUtils.parseValidClaims(bad);
+        assertEquals(0, jwtUtils.getNegativeCacheHits());
+    }
+}
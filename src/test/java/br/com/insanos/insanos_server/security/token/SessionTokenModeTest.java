@@ -0,0 +1,72 @@
+package br.com.insanos.insanos_server.security.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fluxo login + /me + logout com insanos.token.mode=session contra o servidor real.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "insanos.token.mode=session")
+@DisplayName("Modo de token session - Testes de Integração")
+class SessionTokenModeTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve autenticar com token opaco e recusá-lo logo após o logout")
+    void shouldAuthenticateWithOpaqueTokenUntilLogout() throws Exception {
+        // Given
+        assertInstanceOf(SessionTokenService.class, ((ConfiguredTokenService) tokenService).getDelegate());
+        send(post("/api/auth/register",
+                "{\"username\":\"sessionmode\",\"email\":\"sessionmode@test.com\",\"password\":\"password123\"}"));
+        String token = objectMapper.readTree(send(post("/api/auth/login",
+                "{\"username\":\"sessionmode\",\"password\":\"password123\"}")).body()).get("token").asText();
+        assertTrue(token.startsWith(SessionTokenService.TOKEN_PREFIX));
+        assertEquals(200, send(withToken("/api/auth/me", token).GET().build()).statusCode());
+
+        // When
+        HttpResponse<String> logout = send(withToken("/api/auth/logout", token)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+
+        // Then
+        assertEquals(200, logout.statusCode());
+        assertNull(tokenService.verify(token));
+        assertEquals(401, send(withToken("/api/auth/me", token).GET().build()).statusCode());
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder withToken(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionTokenService - Testes Unitários")
+class SessionTokenServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private SessionTokenService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve emitir token opaco que resolve para o usuário e a versão")
+    void shouldIssueAndVerifyOpaqueToken() {
+        // Given
+        service = start(null);
+
+        // When
+        String token = service.issue(principal("ana", 3));
+        VerifiedToken verified = service.verify(token);
+
+        // Then
+        assertTrue(token.startsWith(SessionTokenService.TOKEN_PREFIX));
+        assertEquals(new VerifiedToken("ana", 3), verified);
+        assertNotEquals(token, service.issue(principal("ana", 3)));
+        assertNull(service.verify(token + "x"));
+        assertNull(service.verify("eyJhbGciOiJIUzI1NiJ9.e30.sig"));
+    }
+
+    @Test
+    @DisplayName("Deve revogar na hora todas as sessões do usuário")
+    void shouldRevokeAllSessionsOfUser() {
+        // Given
+        service = start(null);
+        String first = service.issue(principal("ana", 0));
+        String second = service.issue(principal("ana", 0));
+        String other = service.issue(principal("bruno", 0));
+
+        // When
+        service.revokeAll("ana");
+
+        // Then
+        assertNull(service.verify(first));
+        assertNull(service.verify(second));
+        assertNotNull(service.verify(other));
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    @DisplayName("Deve expirar por ociosidade e renovar o prazo a cada uso")
+    void shouldSlideIdleExpiry() throws Exception {
+        // Given
+        service = new SessionTokenService();
+        ReflectionTestUtils.setField(service, "idleTimeout", Duration.ofMillis(1500));
+        service = start(service, null);
+        String used = service.issue(principal("ana", 0));
+        String idle = service.issue(principal("bruno", 0));
+
+        // When - o uso depois de mais de 1 s regrava o último acesso
+        Thread.sleep(1100);
+        assertNotNull(service.verify(used));
+        Thread.sleep(600);
+
+        // Then
+        assertNotNull(service.verify(used));
+        assertNull(service.verify(idle));
+    }
+
+    @Test
+    @DisplayName("Deve expirar pela vida máxima mesmo com uso contínuo")
+    void shouldExpireAtMaxLifetime() {
+        // Given
+        service = new SessionTokenService();
+        ReflectionTestUtils.setField(service, "maxLifetime", Duration.ofHours(1));
+        service = start(service, null);
+        service.issue(principal("ana", 0));
+
+        // When
+        int removed = service.removeExpired(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de sessões")
+    void shouldRespectMaxSessions() {
+        // Given
+        service = new SessionTokenService();
+        ReflectionTestUtils.setField(service, "maxSessions", 10);
+        service = start(service, null);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            service.issue(principal("user" + i, 0));
+        }
+
+        // Then
+        assertTrue(service.size() <= 10);
+    }
+
+    @Test
+    @DisplayName("Deve restaurar sessões do snapshot depois de reiniciar")
+    void shouldRestoreSessionsFromSnapshot() throws Exception {
+        // Given
+        Path snapshot = directory.resolve("sessions.bin");
+        service = start(snapshot);
+        String token = service.issue(principal("ana", 5));
+        service.issue(principal("bruno", 0));
+        service.revokeAll("bruno");
+
+        // When - stop grava o snapshot; nova instância lê
+        service.stop();
+        service = start(snapshot);
+
+        // Then
+        assertEquals(new VerifiedToken("ana", 5), service.verify(token));
+        assertEquals(1, service.size());
+        service.revokeAll("ana");
+        assertNull(service.verify(token));
+    }
+
+    @Test
+    @DisplayName("Deve manter no índice do usuário as sessões criadas durante remoções concorrentes")
+    void shouldIndexSessionsAddedDuringConcurrentRemovals() throws Exception {
+        // Given
+        service = start(null);
+        long farFuture = System.currentTimeMillis() + Duration.ofDays(365).toMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When - um thread cria sessões da ana enquanto o outro remove todas como expiradas
+        try {
+            Future<?> issuing = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    service.issue(principal("ana", 0));
+                }
+            });
+            Future<?> removing = executor.submit(() -> {
+                while (!issuing.isDone()) {
+                    service.removeExpired(farFuture);
+                }
+            });
+            issuing.get(30, TimeUnit.SECONDS);
+            removing.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        service.revokeAll("ana");
+
+        // Then - nenhuma sessão ficou fora do alcance do revokeAll
+        assertEquals(0, service.size());
+    }
+
+    private SessionTokenService start(Path snapshot) {
+        return start(new SessionTokenService(), snapshot);
+    }
+
+    private static SessionTokenService start(SessionTokenService service, Path snapshot) {
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        if (snapshot != null) {
+            ReflectionTestUtils.setField(service, "snapshotPath", snapshot.toString());
+        }
+        service.start();
+        return service;
+    }
+
+    private static UserDetailsImpl principal(String username, long tokenVersion) {
+        return new UserDetailsImpl(1L, username, username + "@insanos.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true, tokenVersion);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.insanos.insanos_server.security.token;
+
+import br.com.insanos.insanos_server.security.UserDetailsImpl;
+import br.com.insanos.insanos_server.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o custo de verificar um token nos dois modos ({@code insanos.token.mode}): JWT
+ * (HMAC + parse do JSON) e session (busca no mapa). Várias threads verificam tokens de
+ * {@code loadtest.sessions} usuários ao mesmo tempo. Fica fora do {@code mvn test}; execute com:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=TokenVerifyLoadTest -Dloadtest.verifications=5000000
+ * </pre>
+ */
+@DisplayName("Verificação de token JWT x session - Teste de Carga")
+class TokenVerifyLoadTest {
+
+    private static final int SESSIONS = Integer.getInteger("loadtest.sessions", 100_000);
+    private static final int VERIFICATIONS = Integer.getInteger("loadtest.verifications", 2_000_000);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", Runtime.getRuntime().availableProcessors());
+
+    @Test
+    @DisplayName("Carga: modo session deve verificar tokens mais rápido que o modo JWT")
+    void sessionModeShouldVerifyFaster() throws Exception {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+            "insanosSecretKeyForTestingPurposesOnlyDoNotUseInProduction1234567890");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        JwtTokenService jwt = new JwtTokenService();
+        ReflectionTestUtils.setField(jwt, "jwtUtils", jwtUtils);
+
+        SessionTokenService session = new SessionTokenService();
+        ReflectionTestUtils.setField(session, "meterRegistry", new SimpleMeterRegistry());
+        session.start();
+
+        try {
+            // Aquecimento do JIT nos dois caminhos antes de medir
+            measure(jwt, VERIFICATIONS / 10);
+            measure(session, VERIFICATIONS / 10);
+
+            double jwtNanos = measure(jwt, VERIFICATIONS);
+            double sessionNanos = measure(session, VERIFICATIONS);
+
+            System.out.printf("🎫 %d verificações em %d threads: jwt %.0f ns/op, session %.0f ns/op (%.1fx)%n",
+                VERIFICATIONS, THREADS, jwtNanos, sessionNanos, jwtNanos / sessionNanos);
+            assertTrue(sessionNanos < jwtNanos, "session=" + sessionNanos + " ns/op, jwt=" + jwtNanos + " ns/op");
+        } finally {
+            session.stop();
+        }
+    }
+
+    // Latência média de uma verificação (ns) com todas as threads verificando ao mesmo tempo
+    private static double measure(TokenService service, int verifications) throws Exception {
+        int users = Math.min(SESSIONS, verifications);
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = service.issue(new UserDetailsImpl((long) i, "user" + i, "user" + i + "@insanos.com", null,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")), true, 0L));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            int perThread = verifications / THREADS;
+            long start = System.nanoTime();
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int checksum = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        VerifiedToken token = service.verify(tokens[random.nextInt(tokens.length)]);
+                        assertNotNull(token);
+                        checksum += token.username().length();
+                    }
+                    return checksum;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertTrue(result.get() > 0);
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) elapsed / perThread;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package br.com.insanos.insanos_server.service;
 
+import br.com.insanos.insanos_server.activity.UserActivityTracker;
+import br.com.insanos.insanos_server.audit.AuditEventType;
+import br.com.insanos.insanos_server.audit.AuditLog;
+import br.com.insanos.insanos_server.cluster.ClusterInvalidationBus;
 import br.com.insanos.insanos_server.dto.JwtResponse;
 import br.com.insanos.insanos_server.dto.LoginRequest;
 import br.com.insanos.insanos_server.dto.MessageResponse;
 import br.com.insanos.insanos_server.dto.RegisterRequest;
 import br.com.insanos.insanos_server.model.User;
+import br.com.insanos.insanos_server.outbox.OutboxPublisher;
 import br.com.insanos.insanos_server.repository.UserRepository;
+import br.com.insanos.insanos_server.search.UsernameIndex;
 import br.com.insanos.insanos_server.security.UserDetailsImpl;
-import br.com.insanos.insanos_server.security.jwt.JwtUtils;
+import br.com.insanos.insanos_server.security.token.TokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +27,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +36,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +53,25 @@ class AuthServiceTest {
     private PasswordEncoder encoder;
 
     @Mock
-    private JwtUtils jwtUtils;
+    private TokenService tokenService;
+
+    @Mock
+    private UsernameIndex usernameIndex;
+
+    @Mock
+    private ClusterInvalidationBus invalidationBus;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private UserActivityTracker activityTracker;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @Mock
     private Authentication authentication;
@@ -99,7 +125,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("test-jwt-token");
+        when(tokenService.issue(userDetails)).thenReturn("test-jwt-token");
 
         // When
         JwtResponse response = authService.authenticateUser(loginRequest);
@@ -113,7 +139,9 @@ class AuthServiceTest {
         assertTrue(response.getRoles().contains("ROLE_USER"));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtils).generateJwtToken(authentication);
+        verify(tokenService).issue(userDetails);
+        verify(auditLog).record(AuditEventType.LOGIN_SUCCESS, "testuser", null, null);
+        verify(activityTracker).recordLogin("testuser");
     }
 
     @Test
@@ -129,7 +157,23 @@ class AuthServiceTest {
         });
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtils, never()).generateJwtToken(any());
+        verify(tokenService, never()).issue(any());
+        verify(auditLog).record(AuditEventType.LOGIN_FAILURE, "testuser", null, "BadCredentialsException");
+    }
+
+    @Test
+    @DisplayName("Não deve auditar falha de login quando o erro ocorre depois da autenticação")
+    void shouldNotRecordLoginFailureWhenTokenIssuingFails() {
+        // Given
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(tokenService.issue(userDetails)).thenThrow(new IllegalStateException("falha ao emitir"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> authService.authenticateUser(loginRequest));
+
+        verify(auditLog, never()).record(eq(AuditEventType.LOGIN_FAILURE), any(), any(), any());
     }
 
     @Test
@@ -152,6 +196,9 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail("newuser@test.com");
         verify(encoder).encode("password123");
         verify(userRepository).save(any(User.class));
+        verify(outboxPublisher).userRegistered(any(User.class));
+        verify(usernameIndex).add("newuser");
+        verify(invalidationBus).userChanged("newuser");
     }
 
     @Test
@@ -169,6 +216,7 @@ class AuthServiceTest {
 
         verify(userRepository).existsByUsername("newuser");
         verify(userRepository, never()).save(any(User.class));
+        verify(usernameIndex, never()).add(anyString());
     }
 
     @Test
@@ -266,5 +314,21 @@ class AuthServiceTest {
         assertEquals("Usuário registrado com sucesso!", response.getMessage());
         verify(userRepository).save(any(User.class));
     }
-}
 
+    @Test
+    @DisplayName("Deve incrementar a versão dos tokens e propagar a revogação no logout")
+    void shouldIncrementTokenVersionAndPublishRevocationOnLogout() {
+        // Given
+        when(userRepository.incrementTokenVersion("testuser")).thenReturn(1);
+
+        // When
+        MessageResponse response = authService.logout("testuser");
+
+        // Then
+        assertEquals("Logout realizado com sucesso!", response.getMessage());
+        var order = inOrder(userRepository, invalidationBus, tokenService);
+        order.verify(userRepository).incrementTokenVersion("testuser");
+        order.verify(invalidationBus).tokenRevoked("testuser");
+        order.verify(tokenService).revokeAll("testuser");
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.insanos.insanos_server.support;
+
+import br.com.insanos.insanos_server.monitoring.QueryCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matchers do MockMvc sobre o header X-DB-Statements publicado pelo {@link QueryCountFilter}.
+ * Uso: {@code .andExpect(maxStatements(2))} - uma regressão de queries (ex.: N+1) quebra o build.
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            int executed = statements(result.getResponse().getHeader(QueryCountFilter.STATEMENTS_HEADER));
+            assertTrue(executed <= max,
+                "Esperado no máximo " + max + " statements SQL, mas foram executados " + executed);
+        };
+    }
+
+    public static ResultMatcher statementCount(int expected) {
+        return result -> {
+            int executed = statements(result.getResponse().getHeader(QueryCountFilter.STATEMENTS_HEADER));
+            assertTrue(executed == expected,
+                "Esperado exatamente " + expected + " statements SQL, mas foram executados " + executed);
+        };
+    }
+
+    private static int statements(String header) {
+        assertNotNull(header, "Header " + QueryCountFilter.STATEMENTS_HEADER
+            + " ausente - insanos.db.query-count.header-enabled está desligado?");
+        return Integer.parseInt(header);
+    }
+}
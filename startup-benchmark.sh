@@ -0,0 +1,122 @@
+#!/bin/bash
+
+# Benchmark de startup: tempo até o primeiro login bem-sucedido (POST /api/auth/login = 200)
+# e memória residente (RSS) do processo logo após esse login
+#
+# Uso:
+#   mvn -Paot,cds package -DskipTests     # jar + AOT + target/cds/application.jsa
+#   ./startup-benchmark.sh                # ITERATIONS=5 PORT=18080 por padrão
+#
+# Variantes medidas (as que existirem no target/):
+#   jar      -> java -jar target/insanos-server-0.0.1-SNAPSHOT.jar
+#   cds      -> jar extraído + -XX:SharedArchiveFile
+#   aot-cds  -> jar extraído + CDS + -Dspring.aot.enabled=true (precisa do build com -Paot)
+#   native   -> target/insanos-server (mvn -Pnative native:compile -DskipTests, requer GraalVM)
+
+ITERATIONS=${ITERATIONS:-5}
+PORT=${PORT:-18080}
+JAR_NAME="insanos-server-0.0.1-SNAPSHOT.jar"
+REPORT="target/startup-benchmark.txt"
+LOGIN_BODY='{"username":"insanos","password":"insanos321"}'
+
+echo "⏱️  Insanos Server - Benchmark de Startup"
+echo "=========================================="
+echo ""
+
+if [ ! -f "target/$JAR_NAME" ]; then
+    echo "❌ target/$JAR_NAME não encontrado. Rode: mvn -Paot,cds package -DskipTests"
+    exit 1
+fi
+
+if lsof -ti :$PORT &> /dev/null; then
+    echo "❌ Porta $PORT está em uso. Defina outra com PORT=<porta>"
+    exit 1
+fi
+
+# Inicia a aplicação, espera o primeiro login com sucesso e imprime "<tempo em ms> <rss em KB>"
+# Primeiro argumento: diretório de trabalho; o resto é a linha de comando (sem --server.port)
+measure() {
+    local workdir=$1
+    shift
+
+    local start=$(date +%s%N)
+    (cd "$workdir" && exec "$@" --server.port=$PORT > /dev/null 2>&1) &
+    local pid=$!
+
+    local status=""
+    while [ "$status" != "200" ]; do
+        if ! kill -0 $pid 2> /dev/null; then
+            echo "ERRO"
+            return
+        fi
+        status=$(curl -s -o /dev/null -w "%{http_code}" -X POST "http://localhost:$PORT/api/auth/login" \
+            -H "Content-Type: application/json" -d "$LOGIN_BODY" 2> /dev/null)
+        [ "$status" != "200" ] && sleep 0.02
+    done
+    local end=$(date +%s%N)
+    local rss=$(ps -o rss= -p $pid | tr -d ' ')
+
+    kill $pid 2> /dev/null
+    wait $pid 2> /dev/null
+    echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+run_variant() {
+    local name=$1
+    shift
+
+    local times=()
+    local rss_values=()
+    for i in $(seq 1 $ITERATIONS); do
+        local result=$(measure "$@")
+        if [ "$result" = "ERRO" ]; then
+            echo "❌ $name: a aplicação encerrou antes do primeiro login"
+            return
+        fi
+        local ms=${result% *}
+        local rss=${result#* }
+        times+=($ms)
+        rss_values+=($rss)
+        echo "   $name #$i: ${ms} ms, RSS $(( rss / 1024 )) MB"
+    done
+
+    local sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+    local sorted_rss=($(printf "%s\n" "${rss_values[@]}" | sort -n))
+    local median=${sorted[$(( ITERATIONS / 2 ))]}
+    local median_rss=${sorted_rss[$(( ITERATIONS / 2 ))]}
+    local line=$(printf "%-8s mediana=%6d ms  min=%6d ms  max=%6d ms  rss=%5d MB  (n=%d)" \
+        "$name" "$median" "${sorted[0]}" "${sorted[$(( ITERATIONS - 1 ))]}" "$(( median_rss / 1024 ))" "$ITERATIONS")
+    echo "✓ $line"
+    echo "$line" >> "$REPORT"
+}
+
+echo "Java: $(java -version 2>&1 | head -1)"
+echo "Iterações por variante: $ITERATIONS"
+echo ""
+
+echo "# $(date -Iseconds) - $(java -version 2>&1 | head -1)" >> "$REPORT"
+
+run_variant "jar" target java -jar "$JAR_NAME"
+
+if [ -f "target/cds/application.jsa" ]; then
+    run_variant "cds" target/cds java -XX:SharedArchiveFile=application.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+        -jar "$JAR_NAME"
+
+    if ls target/classes/br/com/insanos/insanos_server/*__ApplicationContextInitializer.class &> /dev/null; then
+        run_variant "aot-cds" target/cds java -XX:SharedArchiveFile=application.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+            -Dspring.aot.enabled=true -jar "$JAR_NAME"
+    else
+        echo "⚠️  Build sem AOT: variante aot-cds ignorada (use mvn -Paot,cds package)"
+    fi
+else
+    echo "⚠️  target/cds/application.jsa não encontrado: variantes cds ignoradas (use mvn -Paot,cds package)"
+fi
+
+if [ -x "target/insanos-server" ]; then
+    run_variant "native" target ./insanos-server
+else
+    echo "⚠️  target/insanos-server não encontrado: variante native ignorada (use mvn -Pnative native:compile)"
+fi
+
+echo ""
+echo "📄 Resultados adicionados em $REPORT"